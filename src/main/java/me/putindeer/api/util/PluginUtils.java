@@ -23,11 +23,16 @@ import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import me.putindeer.api.util.builder.ItemBuilder;
+import me.putindeer.api.util.builder.ItemTemplate;
+import me.putindeer.api.util.inventory.StoragePlan;
+import me.putindeer.api.util.item.MaterialClassifier;
+import me.putindeer.api.util.item.ProfileCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -54,6 +59,25 @@ public class PluginUtils {
         this.prefix = chat(prefix);
     }
 
+    /**
+     * Shared cache of head profiles used by {@link ItemBuilder}
+     */
+    public final ProfileCache profiles = new ProfileCache(512);
+
+    /**
+     * Whether debug checks and warnings are enabled
+     */
+    public boolean debug;
+
+    /**
+     * Enables or disables debug checks and warnings for the current instance.
+     *
+     * @param debug true to enable debug mode
+     */
+    public void setDebug(boolean debug) {
+        this.debug = debug;
+    }
+
     /**
      * Converts a text with HEX codes to a {@link Component}
      * @param string The input as a {@link String}
@@ -226,7 +250,7 @@ public class PluginUtils {
         setMaxHealth(player);
         player.setFoodLevel(20);
         player.setSaturation(5.0f);
-        player.getActivePotionEffects().forEach(potionEffect -> player.removePotionEffect(potionEffect.getType()));
+        player.clearActivePotionEffects();
         player.setLevel(0);
         player.setExp(0.0f);
         player.setFireTicks(0);
@@ -235,6 +259,57 @@ public class PluginUtils {
         player.setInvulnerable(false);
     }
 
+    /**
+     * Fully restores the state of many players in the current tick.
+     *
+     * @param players The players to restore
+     * @return The time spent restoring each player, in nanoseconds
+     */
+    public Map<Player, Long> restorePlayers(Collection<? extends Player> players) {
+        Map<Player, Long> timings = new LinkedHashMap<>();
+        for (Player player : players) {
+            long start = System.nanoTime();
+            restorePlayer(player);
+            timings.put(player, System.nanoTime() - start);
+        }
+        return timings;
+    }
+
+    /**
+     * Fully restores the state of many players, spreading the work over several ticks.
+     * <br><br>
+     * Each tick restores players until the time budget is used up, restoring at least one player per tick.
+     * Players who go offline before their turn are skipped.
+     *
+     * @param players      The players to restore
+     * @param budgetMillis The maximum time to spend per tick, in milliseconds
+     * @return A future completed with the time spent restoring each player, in nanoseconds
+     */
+    public CompletableFuture<Map<Player, Long>> restorePlayers(Collection<? extends Player> players, double budgetMillis) {
+        Deque<Player> queue = new ArrayDeque<>(players);
+        Map<Player, Long> timings = new LinkedHashMap<>();
+        CompletableFuture<Map<Player, Long>> future = new CompletableFuture<>();
+        long budget = (long) (budgetMillis * 1_000_000);
+
+        Bukkit.getScheduler().runTaskTimer(plugin, task -> {
+            long tickStart = System.nanoTime();
+            do {
+                Player player = queue.poll();
+                if (player == null) break;
+                if (!player.isOnline()) continue;
+                long start = System.nanoTime();
+                restorePlayer(player);
+                timings.put(player, System.nanoTime() - start);
+            } while (System.nanoTime() - tickStart < budget);
+
+            if (queue.isEmpty()) {
+                task.cancel();
+                future.complete(timings);
+            }
+        }, 0L, 1L);
+        return future;
+    }
+
     public void title(List<Player> players, String title) {
         players.forEach(player -> title(player, title));
     }
@@ -353,12 +428,22 @@ public class PluginUtils {
                 .model(Material.PLAYER_HEAD);
     }
 
+    private ItemTemplate marlowGHead;
+
     public ItemStack marlowGHead() {
         return marlowGHead(1);
     }
 
     public ItemStack marlowGHead(int amount) {
-        return goldenHeadTexture(Material.GOLDEN_APPLE, amount)
+        if (marlowGHead == null) {
+            marlowGHead = marlowGHeadBuilder().compile();
+        }
+        return marlowGHead.create(amount);
+    }
+
+    private ItemBuilder marlowGHeadBuilder() {
+        return goldenHeadTexture(Material.GOLDEN_APPLE, 1)
+                .staged()
                 .name("Golden Head")
                 .lore("<blue><lang:effect.minecraft.absorption> (02:00)", "<blue><lang:effect.minecraft.regeneration> III (00:05)", "<gray>Cooldown:<yellow> 10 seconds")
                 .rarity(ItemRarity.RARE)
@@ -368,8 +453,7 @@ public class PluginUtils {
                 .consumeAnimation(ItemUseAnimation.EAT)
                 .consumingSound(SoundEventKeys.ENTITY_GENERIC_EAT)
                 .consumeParticles(false)
-                .consumeApplyEffects(new PotionEffect(PotionEffectType.ABSORPTION, 2400, 0), new PotionEffect(PotionEffectType.REGENERATION, 100, 2))
-                .build();
+                .consumeApplyEffects(new PotionEffect(PotionEffectType.ABSORPTION, 2400, 0), new PotionEffect(PotionEffectType.REGENERATION, 100, 2));
     }
 
     public String getTimeAgo(long timestamp) {
@@ -656,6 +740,31 @@ public class PluginUtils {
         return false;
     }
 
+    /**
+     * Checks if an inventory has enough space for a whole batch of items,
+     * taking into account the slots that earlier items of the batch would take up.
+     *
+     * @param inv   The inventory to which the items will be added.
+     * @param items The items to be added.
+     * @return {@code true} if every item can be completely stored, {@code false} if something would overflow.
+     */
+    public boolean canStoreAll(Inventory inv, Collection<ItemStack> items) {
+        return planStorage(inv, items).fitsAll();
+    }
+
+    /**
+     * Simulates adding a whole batch of items to an inventory in one pass over its slots.
+     * The returned plan tells exactly what fits and what overflows, and can be applied directly
+     * with {@link StoragePlan#apply(Inventory)} without scanning the inventory again.
+     *
+     * @param inv   The inventory to which the items will be added.
+     * @param items The items to be added.
+     * @return The {@link StoragePlan} for the batch.
+     */
+    public StoragePlan planStorage(Inventory inv, Collection<ItemStack> items) {
+        return StoragePlan.plan(inv, items);
+    }
+
     /**
      * Formats a time in seconds into a {@link String}.
      *
@@ -777,7 +886,7 @@ public class PluginUtils {
      * @param mat The {@link Material} to use for the item
      */
     public ItemBuilder ib(Material mat) {
-        return ib(new ItemStack(mat), 1);
+        return ib(mat, 1);
     }
 
     /**
@@ -787,7 +896,7 @@ public class PluginUtils {
      * @param amount The amount of items in the stack
      */
     public ItemBuilder ib(Material mat, int amount) {
-        return ib(new ItemStack(mat), amount);
+        return new ItemBuilder(mat, amount, this);
     }
 
     /**
@@ -808,12 +917,31 @@ public class PluginUtils {
     public ItemBuilder ib(ItemStack item, int amount) {
         return new ItemBuilder(item, amount, this);
     }
+
+    /**
+     * Constructs a copy-on-write ItemBuilder over an existing ItemStack.
+     * The given stack is never modified: it is only copied on the first modifying call.
+     *
+     * @param item The base {@link ItemStack} to read from, usually a shared template
+     */
+    public ItemBuilder ibCopyOnWrite(ItemStack item) {
+        return ItemBuilder.copyOnWrite(item, this);
+    }
+
+    /**
+     * Constructs a copy-on-write ItemBuilder over an existing ItemStack with the specified amount.
+     * The given stack is never modified: it is only copied on the first modifying call.
+     *
+     * @param item   The base {@link ItemStack} to read from, usually a shared template
+     * @param amount The amount of items in the stack
+     */
+    public ItemBuilder ibCopyOnWrite(ItemStack item, int amount) {
+        return ItemBuilder.copyOnWrite(item, this).amount(amount);
+    }
     //endregion
 
     public boolean isTool(ItemStack item) {
-        String name = item.getType().name();
-        return name.endsWith("_AXE") || name.endsWith("_PICKAXE") || name.endsWith("_HOE") || name.endsWith("_SHOVEL")
-                || item.getType() == Material.SHEARS || item.getType() == Material.FISHING_ROD || item.getType() == Material.FLINT_AND_STEEL;
+        return MaterialClassifier.TOOLS.contains(item.getType());
     }
 
     public void giveOrDrop(Player player, ItemStack item) {
@@ -826,8 +954,57 @@ public class PluginUtils {
         }
     }
 
+    /**
+     * Gives a batch of items to a player in a single {@code addItem} call.
+     * <br><br>
+     * Whatever doesn't fit is merged into full stacks before being dropped, so big rewards spawn as few
+     * item entities as possible. The pickup sound is played at most once, if anything was stored.
+     *
+     * @param player The player receiving the items
+     * @param items  The items to give, {@code null} and empty items are ignored
+     */
     public void giveOrDrop(Player player, Collection<ItemStack> items) {
-        items.forEach(item -> giveOrDrop(player, item));
+        ItemStack[] stacks = items.stream().filter(item -> item != null && !item.isEmpty()).toArray(ItemStack[]::new);
+        if (stacks.length == 0) return;
+
+        int total = Arrays.stream(stacks).mapToInt(ItemStack::getAmount).sum();
+        Map<Integer, ItemStack> leftovers = player.getInventory().addItem(stacks);
+        int leftover = leftovers.values().stream().mapToInt(ItemStack::getAmount).sum();
+
+        if (leftover < total) {
+            player.playSound(Sound.sound(SoundEventKeys.ENTITY_ITEM_PICKUP, Sound.Source.PLAYER, 0.15f, 2.0f));
+        }
+        if (leftovers.isEmpty()) return;
+
+        World world = player.getWorld();
+        Location location = player.getLocation();
+        mergeStacks(leftovers.values()).forEach(item -> world.dropItemNaturally(location, item));
+    }
+
+    /**
+     * Merges similar items into as few stacks as possible, respecting their maximum stack size.
+     *
+     * @param items The items to merge
+     * @return A new list of merged stacks
+     */
+    public List<ItemStack> mergeStacks(Collection<ItemStack> items) {
+        List<ItemStack> merged = new ArrayList<>();
+        for (ItemStack item : items) {
+            int remaining = item.getAmount();
+            for (ItemStack stack : merged) {
+                if (remaining == 0) break;
+                if (stack.getAmount() >= stack.getMaxStackSize() || !stack.isSimilar(item)) continue;
+                int added = Math.min(remaining, stack.getMaxStackSize() - stack.getAmount());
+                stack.setAmount(stack.getAmount() + added);
+                remaining -= added;
+            }
+            while (remaining > 0) {
+                int amount = Math.min(remaining, item.getMaxStackSize());
+                merged.add(item.asQuantity(amount));
+                remaining -= amount;
+            }
+        }
+        return merged;
     }
 
     public @Nullable Player getDamager(EntityDamageByEntityEvent event) {
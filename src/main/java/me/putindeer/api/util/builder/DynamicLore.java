@@ -0,0 +1,160 @@
+package me.putindeer.api.util.builder;
+
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import io.papermc.paper.datacomponent.item.ItemLore;
+import me.putindeer.api.util.PluginUtils;
+import net.kyori.adventure.text.Component;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A lore model for items whose lore changes over time, such as "Players: 12/16" or timers in GUIs.
+ * <br><br>
+ * Lines are given as templates with {@code {key}} placeholders. Static lines (without placeholders)
+ * are parsed with MiniMessage only once. When a placeholder value changes, only the lines that use it
+ * are re-rendered, and the lore component is only written to the item if something actually changed.
+ * <p>
+ * Usage example:
+ * <pre>
+ * {@code
+ * DynamicLore lore = new DynamicLore(utils, "Players: <yellow>{players}/{max}", "Click to join!");
+ * ItemStack item = utils.ib(Material.DIAMOND_SWORD).name("Arena").dynamicLore(lore).build();
+ *
+ * // Every second:
+ * lore.set("players", arena.getPlayers().size()).apply(item);
+ * }
+ * </pre>
+ * Each item must have its own instance, since the rendered lines are cached per instance.
+ */
+@SuppressWarnings({"unused", "UnstableApiUsage"})
+public class DynamicLore {
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([^{}]+)}");
+
+    private final PluginUtils utils;
+    private final String[] templates;
+    private final Set<String>[] keys;
+    private final Component[] rendered;
+    private final boolean[] dirty;
+    private final Map<String, String> values = new HashMap<>();
+    private boolean changed = true;
+
+    /**
+     * Creates a new DynamicLore instance.
+     *
+     * @param utils PluginUtils instance for chat formatting
+     * @param lines The lore line templates, supporting color codes and {@code {key}} placeholders
+     */
+    @SuppressWarnings("unchecked")
+    public DynamicLore(PluginUtils utils, String... lines) {
+        this.utils = utils;
+        this.templates = lines.clone();
+        this.keys = new Set[lines.length];
+        this.rendered = new Component[lines.length];
+        this.dirty = new boolean[lines.length];
+
+        for (int i = 0; i < lines.length; i++) {
+            Set<String> lineKeys = new HashSet<>();
+            Matcher matcher = PLACEHOLDER.matcher(lines[i]);
+            while (matcher.find()) {
+                lineKeys.add(matcher.group(1));
+            }
+            keys[i] = lineKeys;
+            rendered[i] = render(lines[i]);
+        }
+    }
+
+    /**
+     * Creates a new DynamicLore instance.
+     *
+     * @param utils PluginUtils instance for chat formatting
+     * @param lines The list of lore line templates, supporting color codes and {@code {key}} placeholders
+     */
+    public DynamicLore(PluginUtils utils, List<String> lines) {
+        this(utils, lines.toArray(new String[0]));
+    }
+
+    /**
+     * Sets the value of a placeholder. Lines using it are marked for re-rendering only if the value changed.
+     *
+     * @param key   The placeholder key, without braces
+     * @param value The new value
+     * @return This instance for chaining
+     */
+    public DynamicLore set(String key, String value) {
+        if (Objects.equals(values.put(key, value), value)) return this;
+        for (int i = 0; i < templates.length; i++) {
+            if (keys[i].contains(key)) dirty[i] = true;
+        }
+        return this;
+    }
+
+    /**
+     * Sets the value of a placeholder. Lines using it are marked for re-rendering only if the value changed.
+     *
+     * @param key   The placeholder key, without braces
+     * @param value The new value
+     * @return This instance for chaining
+     */
+    public DynamicLore set(String key, Object value) {
+        return set(key, String.valueOf(value));
+    }
+
+    /**
+     * Re-renders the dirty lines and writes the lore to the item if any line changed.
+     * <br><br>
+     * If the given stack is a copy of the one shown to the player (for example, from {@code Inventory#getItem}
+     * on some inventory implementations), the stack must be set back when this returns {@code true}.
+     *
+     * @param item The item to write the lore to
+     * @return {@code true} if the lore component was written, {@code false} if nothing changed
+     */
+    public boolean apply(ItemStack item) {
+        if (!update()) return false;
+        item.setData(DataComponentTypes.LORE, ItemLore.lore(lines()));
+        return true;
+    }
+
+    /**
+     * Re-renders the lines whose placeholders changed since the last call.
+     *
+     * @return {@code true} if any rendered line is different from the last written lore
+     */
+    boolean update() {
+        for (int i = 0; i < templates.length; i++) {
+            if (!dirty[i]) continue;
+            dirty[i] = false;
+            Component line = render(replace(templates[i]));
+            if (!line.equals(rendered[i])) {
+                rendered[i] = line;
+                changed = true;
+            }
+        }
+        boolean result = changed;
+        changed = false;
+        return result;
+    }
+
+    /**
+     * Gets the currently rendered lines.
+     *
+     * @return A new list with the rendered lore lines
+     */
+    public List<Component> lines() {
+        return new ArrayList<>(Arrays.asList(rendered));
+    }
+
+    private String replace(String template) {
+        String result = template;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            result = result.replace("{" + entry.getKey() + "}", entry.getValue());
+        }
+        return result;
+    }
+
+    private Component render(String line) {
+        return ItemBuilder.format(utils, "<gray>" + line);
+    }
+}
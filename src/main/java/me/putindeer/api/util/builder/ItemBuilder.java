@@ -1,7 +1,7 @@
 package me.putindeer.api.util.builder;
 
 import com.destroystokyo.paper.profile.PlayerProfile;
-import com.destroystokyo.paper.profile.ProfileProperty;
+import com.google.common.collect.MapMaker;
 import io.papermc.paper.datacomponent.DataComponentBuilder;
 import io.papermc.paper.datacomponent.DataComponentType;
 import io.papermc.paper.datacomponent.DataComponentTypes;
@@ -47,11 +47,43 @@ import java.util.*;
  *     .build();
  * }
  * </pre>
+ * <p>
+ * By default, every method writes its data component to the underlying {@link ItemStack} immediately.
+ * Long chains can call {@link #staged()} first so that every change is gathered in the builder and written
+ * once in {@link #build()}. Lore, enchantments, tooltip, potion, firework, consumable and death protection
+ * changes are accumulated, and every other component keeps its last set value.
+ * <p>
+ * Builders created from an existing {@link ItemStack} modify that stack in place. Use
+ * {@link #copyOnWrite(ItemStack, PluginUtils)} when the stack is a shared template: it will only be copied on the
+ * first modifying call.
  */
 @SuppressWarnings({"unused", "UnstableApiUsage"})
 public class ItemBuilder {
-    private final ItemStack item;
+    /**
+     * Stacks used as copy-on-write templates, compared by identity and weakly referenced.
+     */
+    private static final Set<ItemStack> SHARED_STACKS = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
+    private ItemStack item;
     private final PluginUtils utils;
+    private boolean shared;
+    private boolean external;
+    private String rawName;
+    private String rawCustomName;
+
+    private boolean staged;
+    private int stagedAmount = -1;
+    private Map<DataComponentType, Object> stagedValues;
+    private List<Component> stagedLore;
+    private Map<Enchantment, Integer> stagedEnchantments;
+    private Set<DataComponentType> stagedHidden;
+    private boolean stagedHideTooltip;
+    private PotionContents.Builder stagedPotion;
+    private List<Pattern> stagedPatterns;
+    private List<ItemStack> stagedContainer;
+    private Fireworks.Builder stagedFireworks;
+    private Consumable.Builder stagedConsumable;
+    private DeathProtection.Builder stagedDeathProtection;
 
     /**
      * Creates a new ItemBuilder instance.
@@ -60,8 +92,7 @@ public class ItemBuilder {
      * @param utils  PluginUtils instance for chat formatting and other utilities
      */
     public ItemBuilder(ItemStack item, PluginUtils utils) {
-        this.item = item;
-        this.utils = utils;
+        this(item, utils, Ownership.EXTERNAL);
     }
 
     /**
@@ -72,9 +103,182 @@ public class ItemBuilder {
      * @param utils  PluginUtils instance for chat formatting and other utilities
      */
     public ItemBuilder(ItemStack item, int amount, PluginUtils utils) {
+        this(item, utils, Ownership.EXTERNAL);
+        amount(amount);
+    }
+
+    /**
+     * Creates a new ItemBuilder instance for a new {@link ItemStack} of the given material.
+     *
+     * @param material The material of the item
+     * @param amount   The amount of items in the stack
+     * @param utils    PluginUtils instance for chat formatting and other utilities
+     */
+    public ItemBuilder(Material material, int amount, PluginUtils utils) {
+        this(new ItemStack(material, amount), utils, Ownership.OWNED);
+    }
+
+    private ItemBuilder(ItemStack item, PluginUtils utils, Ownership ownership) {
         this.item = item;
-        this.item.setAmount(amount);
         this.utils = utils;
+        this.shared = ownership == Ownership.SHARED;
+        this.external = ownership == Ownership.EXTERNAL;
+    }
+
+    /**
+     * Creates a builder that owns the given stack, modifying it in place without copying it or warning about it.
+     * Only for stacks nobody else references, such as fresh copies.
+     *
+     * @param item  The stack owned by the builder
+     * @param utils PluginUtils instance for chat formatting and other utilities
+     * @return A new builder owning the stack
+     */
+    static ItemBuilder owned(ItemStack item, PluginUtils utils) {
+        return new ItemBuilder(item, utils, Ownership.OWNED);
+    }
+
+    /**
+     * Creates a builder in copy-on-write mode.
+     * <br><br>
+     * The builder only references the given stack and copies it on the first modifying call, so the original is
+     * never changed and builders that are never modified allocate nothing. Until then, {@link #build()} returns the
+     * original stack itself. The stack is remembered as a shared template, so in debug mode a regular builder that
+     * later modifies it in place logs a warning.
+     *
+     * @param item  The base ItemStack to read from, usually a shared template
+     * @param utils PluginUtils instance for chat formatting and other utilities
+     * @return A new copy-on-write builder
+     */
+    public static ItemBuilder copyOnWrite(ItemStack item, PluginUtils utils) {
+        SHARED_STACKS.add(item);
+        return new ItemBuilder(item, utils, Ownership.SHARED);
+    }
+
+    /**
+     * Who the wrapped stack belongs to, which decides whether it is copied or reported before the first modification.
+     */
+    private enum Ownership {
+        /** The builder created the stack or got a private copy of it. */
+        OWNED,
+        /** The stack belongs to the caller and is modified in place, reported in debug mode. */
+        EXTERNAL,
+        /** The stack is shared and copied on the first modification. */
+        SHARED
+    }
+
+    /**
+     * Sets the amount of items in the stack.
+     *
+     * @param amount The amount of items in the stack
+     * @return This builder instance for chaining
+     */
+    public ItemBuilder amount(int amount) {
+        if (staged) stagedAmount = amount;
+        else if (item.getAmount() != amount) mutable().setAmount(amount);
+        return this;
+    }
+
+    /**
+     * Gets the item that modifications should be written to.
+     * <br><br>
+     * In copy-on-write mode the referenced stack is copied the first time this is called.
+     * In debug mode, the first in-place modification of a stack previously used as a copy-on-write template
+     * logs a warning, since it changes every item later built from that template.
+     *
+     * @return The {@link ItemStack} owned by this builder
+     */
+    private ItemStack mutable() {
+        if (shared) {
+            item = item.clone();
+            shared = false;
+        } else if (external) {
+            external = false;
+            if (utils.debug && SHARED_STACKS.contains(item)) {
+                String caller = StackWalker.getInstance().walk(frames -> frames
+                        .filter(frame -> !frame.getClassName().equals(ItemBuilder.class.getName()))
+                        .findFirst()
+                        .map(StackWalker.StackFrame::toString)
+                        .orElse("unknown"));
+                utils.warning("ItemBuilder is modifying a shared template " + item.getType() + " stack in place (at " + caller + ")."
+                        + " Use ItemBuilder.copyOnWrite to build on top of it.");
+            }
+        }
+        return item;
+    }
+
+    /**
+     * Enables deferred-write mode for this builder.
+     * <br><br>
+     * While staged, lore, enchantments, hidden components, potion contents, banner patterns, container contents,
+     * fireworks, consumable and death protection changes are accumulated in the builder instead of being
+     * copied and written back to the item on every call. Every other component and the amount are kept as
+     * their last set value. Nothing is written to the item until {@link #build()} is called, so a staged
+     * builder can be filled on any thread and built on the main thread.
+     *
+     * @return This builder instance for chaining
+     */
+    public ItemBuilder staged() {
+        this.staged = true;
+        return this;
+    }
+
+    /**
+     * Writes a valued data component to the item, or keeps it until {@link #build()} in staged mode.
+     *
+     * @param type  The data component type to write
+     * @param value The value to write
+     * @param <T>   The type of the value
+     */
+    private <T> void write(DataComponentType.Valued<@NotNull T> type, T value) {
+        if (staged) stagedValues().put(type, value);
+        else mutable().setData(type, value);
+    }
+
+    /**
+     * Writes a non-valued data component to the item, or keeps it until {@link #build()} in staged mode.
+     *
+     * @param type The data component type to write
+     */
+    private void write(DataComponentType.NonValued type) {
+        if (staged) stagedValues().put(type, type);
+        else mutable().setData(type);
+    }
+
+    /**
+     * Gets the current value of a data component, including a value kept in staged mode.
+     *
+     * @param type The data component type to read
+     * @param <T>  The type of the value
+     * @return The value, or {@code null} if the item doesn't have it
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T current(DataComponentType.Valued<@NotNull T> type) {
+        if (stagedValues != null && stagedValues.containsKey(type)) return (T) stagedValues.get(type);
+        return item.getData(type);
+    }
+
+    private Map<DataComponentType, Object> stagedValues() {
+        if (stagedValues == null) stagedValues = new LinkedHashMap<>();
+        return stagedValues;
+    }
+
+    /**
+     * Drops the accumulated changes of a data component, so a value set afterwards is not overwritten by them.
+     *
+     * @param type The data component type being replaced
+     */
+    private void discardStaged(DataComponentType type) {
+        if (type == DataComponentTypes.LORE) stagedLore = null;
+        else if (type == DataComponentTypes.ENCHANTMENTS) stagedEnchantments = null;
+        else if (type == DataComponentTypes.TOOLTIP_DISPLAY) {
+            stagedHidden = null;
+            stagedHideTooltip = false;
+        } else if (type == DataComponentTypes.POTION_CONTENTS) stagedPotion = null;
+        else if (type == DataComponentTypes.BANNER_PATTERNS) stagedPatterns = null;
+        else if (type == DataComponentTypes.CONTAINER) stagedContainer = null;
+        else if (type == DataComponentTypes.FIREWORKS) stagedFireworks = null;
+        else if (type == DataComponentTypes.CONSUMABLE) stagedConsumable = null;
+        else if (type == DataComponentTypes.DEATH_PROTECTION) stagedDeathProtection = null;
     }
 
     /**
@@ -84,7 +288,8 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder name(String name) {
-        item.setData(DataComponentTypes.ITEM_NAME, format(name));
+        rawName = name;
+        write(DataComponentTypes.ITEM_NAME, format(name));
         return this;
     }
 
@@ -95,7 +300,8 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder customName(String name) {
-        item.setData(DataComponentTypes.CUSTOM_NAME, format(name));
+        rawCustomName = name;
+        write(DataComponentTypes.CUSTOM_NAME, format(name));
         return this;
     }
 
@@ -109,7 +315,11 @@ public class ItemBuilder {
         List<Component> components = new ArrayList<>();
         Arrays.stream(lines).forEach(string -> components.add(format("<gray>" + string)));
 
-        item.setData(DataComponentTypes.LORE, ItemLore.lore().lines(components).build());
+        if (staged) {
+            stagedLore = components;
+            return this;
+        }
+        mutable().setData(DataComponentTypes.LORE, ItemLore.lore().lines(components).build());
         return this;
     }
 
@@ -123,6 +333,26 @@ public class ItemBuilder {
         return lore(lines.toArray(new String[0]));
     }
 
+    /**
+     * Sets the lore of the item from a {@link DynamicLore} model, replacing any existing lore.
+     * <br><br>
+     * Later placeholder changes are written with {@link DynamicLore#apply(ItemStack)}, which only
+     * re-renders the lines that changed.
+     *
+     * @param lore The dynamic lore model to render
+     * @return This builder instance for chaining
+     */
+    public ItemBuilder dynamicLore(DynamicLore lore) {
+        lore.update();
+        List<Component> components = lore.lines();
+        if (staged) {
+            stagedLore = components;
+            return this;
+        }
+        mutable().setData(DataComponentTypes.LORE, ItemLore.lore(components));
+        return this;
+    }
+
     /**
      * Adds lines to the existing lore of the item.
      *
@@ -130,14 +360,10 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder addLore(String... lines) {
-        List<Component> components = new ArrayList<>();
-        ItemLore previousLines = item.getData(DataComponentTypes.LORE);
-        if (previousLines != null) {
-            components.addAll(previousLines.lines());
-        }
+        List<Component> components = getLoreLines();
         Arrays.stream(lines).forEach(string -> components.add(format("<gray>" + string)));
 
-        item.setData(DataComponentTypes.LORE, ItemLore.lore(components));
+        if (!staged) mutable().setData(DataComponentTypes.LORE, ItemLore.lore(components));
         return this;
     }
 
@@ -175,7 +401,28 @@ public class ItemBuilder {
         return this;
     }
 
+    /**
+     * Helper method to get the current lore lines as a mutable list.
+     * In staged mode the same list is returned on every call.
+     *
+     * @return A mutable list with any existing lore lines
+     */
+    private List<Component> getLoreLines() {
+        if (stagedLore != null) return stagedLore;
+        List<Component> components = new ArrayList<>();
+        ItemLore previousLines = current(DataComponentTypes.LORE);
+        if (previousLines != null) {
+            components.addAll(previousLines.lines());
+        }
+        if (staged) stagedLore = components;
+        return components;
+    }
+
     private Component format(String input) {
+        return format(utils, input);
+    }
+
+    static Component format(PluginUtils utils, String input) {
         Component component = utils.chat(input);
         return component.decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE);
     }
@@ -189,14 +436,27 @@ public class ItemBuilder {
      */
     public ItemBuilder enchant(Enchantment enchantment, int level) {
         if (level < 0) return this;
+        Map<Enchantment, Integer> enchantments = getEnchantments();
+        enchantments.put(enchantment, level);
+        if (!staged) mutable().setData(DataComponentTypes.ENCHANTMENTS, ItemEnchantments.itemEnchantments(enchantments));
+        return this;
+    }
+
+    /**
+     * Helper method to get the current enchantments as a mutable map.
+     * In staged mode the same map is returned on every call.
+     *
+     * @return A mutable map with any existing enchantments
+     */
+    private Map<Enchantment, Integer> getEnchantments() {
+        if (stagedEnchantments != null) return stagedEnchantments;
         Map<Enchantment, Integer> enchantments = new HashMap<>();
-        ItemEnchantments previousEnchantments = item.getData(DataComponentTypes.ENCHANTMENTS);
+        ItemEnchantments previousEnchantments = current(DataComponentTypes.ENCHANTMENTS);
         if (previousEnchantments != null) {
             enchantments.putAll(previousEnchantments.enchantments());
         }
-        enchantments.put(enchantment, level);
-        item.setData(DataComponentTypes.ENCHANTMENTS, ItemEnchantments.itemEnchantments(enchantments));
-        return this;
+        if (staged) stagedEnchantments = enchantments;
+        return enchantments;
     }
 
     /**
@@ -215,7 +475,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder glint() {
-        item.setData(DataComponentTypes.ENCHANTMENT_GLINT_OVERRIDE, true);
+        write(DataComponentTypes.ENCHANTMENT_GLINT_OVERRIDE, true);
         return this;
     }
 
@@ -225,7 +485,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder removeGlint() {
-        item.setData(DataComponentTypes.ENCHANTMENT_GLINT_OVERRIDE, false);
+        write(DataComponentTypes.ENCHANTMENT_GLINT_OVERRIDE, false);
         return this;
     }
 
@@ -247,7 +507,7 @@ public class ItemBuilder {
      * @return the current instance of {@code ItemBuilder} for method chaining
      */
     public ItemBuilder durability(int durability) {
-        item.setData(DataComponentTypes.DAMAGE, durability);
+        write(DataComponentTypes.DAMAGE, durability);
         return this;
     }
 
@@ -260,7 +520,7 @@ public class ItemBuilder {
      * @return The current ItemBuilder instance with the updated durability, or unchanged if the percentage is invalid or the item's durability data is unavailable.
      */
     public ItemBuilder durabilityPercentage(float percentage) {
-        Integer currentDurability = item.getData(DataComponentTypes.DAMAGE);
+        Integer currentDurability = current(DataComponentTypes.DAMAGE);
         if (currentDurability == null || percentage < 0 || percentage > 100) return this;
         int newDurability = (int) (currentDurability * (percentage / 100));
         return durability(newDurability);
@@ -273,7 +533,7 @@ public class ItemBuilder {
      * @return the modified {@code ItemBuilder} instance, allowing method chaining.
      */
     public ItemBuilder addDurability(int value) {
-        Integer actualDurability = item.getData(DataComponentTypes.DAMAGE);
+        Integer actualDurability = current(DataComponentTypes.DAMAGE);
         if (actualDurability != null) return durability(actualDurability + value);
         return this;
     }
@@ -285,7 +545,7 @@ public class ItemBuilder {
      * @return the modified {@code ItemBuilder} instance, allowing method chaining.
      */
     public ItemBuilder substractDurability(int value) {
-        Integer actualDurability = item.getData(DataComponentTypes.DAMAGE);
+        Integer actualDurability = current(DataComponentTypes.DAMAGE);
         if (actualDurability != null) return durability(actualDurability - value);
         return this;
     }
@@ -297,7 +557,7 @@ public class ItemBuilder {
      * @return the modified {@code ItemBuilder} instance, allowing method chaining.
      */
     public ItemBuilder maxDurability(int value) {
-        item.setData(DataComponentTypes.MAX_DAMAGE, value);
+        write(DataComponentTypes.MAX_DAMAGE, value);
         return this;
     }
 
@@ -309,7 +569,7 @@ public class ItemBuilder {
      * @return the modified {@code ItemBuilder} instance, allowing method chaining.
      */
     public ItemBuilder maxDurabilityPercentage(float percentage) {
-        Integer maxDurability = item.getData(DataComponentTypes.MAX_DAMAGE);
+        Integer maxDurability = current(DataComponentTypes.MAX_DAMAGE);
         if (maxDurability == null || percentage < 0) return this;
         int newMaxDurability = (int) (maxDurability * (percentage / 100));
         return maxDurability(newMaxDurability);
@@ -322,14 +582,31 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder hide(DataComponentType... types) {
+        Set<DataComponentType> dataComponentTypes = getHiddenComponents();
+        dataComponentTypes.addAll(Set.of(types));
+        if (staged) {
+            stagedHideTooltip = false;
+            return this;
+        }
+        mutable().setData(DataComponentTypes.TOOLTIP_DISPLAY, TooltipDisplay.tooltipDisplay().hiddenComponents(dataComponentTypes).build());
+        return this;
+    }
+
+    /**
+     * Helper method to get the currently hidden component types as a mutable set.
+     * In staged mode the same set is returned on every call.
+     *
+     * @return A mutable set with any existing hidden component types
+     */
+    private Set<DataComponentType> getHiddenComponents() {
+        if (stagedHidden != null) return stagedHidden;
         Set<DataComponentType> dataComponentTypes = new HashSet<>();
-        TooltipDisplay actualDisplay = item.getData(DataComponentTypes.TOOLTIP_DISPLAY);
+        TooltipDisplay actualDisplay = current(DataComponentTypes.TOOLTIP_DISPLAY);
         if (actualDisplay != null) {
             dataComponentTypes.addAll(actualDisplay.hiddenComponents());
         }
-        dataComponentTypes.addAll(Set.of(types));
-        item.setData(DataComponentTypes.TOOLTIP_DISPLAY, TooltipDisplay.tooltipDisplay().hiddenComponents(dataComponentTypes).build());
-        return this;
+        if (staged) stagedHidden = dataComponentTypes;
+        return dataComponentTypes;
     }
 
     /**
@@ -399,7 +676,12 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder hideTooltip() {
-        item.setData(DataComponentTypes.TOOLTIP_DISPLAY, TooltipDisplay.tooltipDisplay().hideTooltip(true).build());
+        if (staged) {
+            stagedHidden = new HashSet<>();
+            stagedHideTooltip = true;
+            return this;
+        }
+        mutable().setData(DataComponentTypes.TOOLTIP_DISPLAY, TooltipDisplay.tooltipDisplay().hideTooltip(true).build());
         return this;
     }
 
@@ -409,7 +691,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder unbreakable() {
-        item.setData(DataComponentTypes.UNBREAKABLE);
+        write(DataComponentTypes.UNBREAKABLE);
         return this;
     }
 
@@ -420,16 +702,30 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder profile(OfflinePlayer player) {
-        return profile(player.getPlayerProfile());
+        write(DataComponentTypes.PROFILE, utils.profiles.player(player));
+        return this;
     }
 
+    /**
+     * Sets the profile of the item (mainly for player heads).
+     *
+     * @param profile The profile to set
+     * @return This builder instance for chaining
+     */
     public ItemBuilder profile(PlayerProfile profile) {
-        item.setData(DataComponentTypes.PROFILE, ResolvableProfile.resolvableProfile(profile));
+        write(DataComponentTypes.PROFILE, ResolvableProfile.resolvableProfile(profile));
         return this;
     }
 
+    /**
+     * Sets the profile of the item from a Base64 texture value (mainly for player heads).
+     * Items with the same texture share a single cached profile.
+     *
+     * @param texture The Base64 texture value
+     * @return This builder instance for chaining
+     */
     public ItemBuilder profileTexture(String texture) {
-        item.setData(DataComponentTypes.PROFILE, ResolvableProfile.resolvableProfile().addProperty(new ProfileProperty("textures", texture)));
+        write(DataComponentTypes.PROFILE, utils.profiles.texture(texture));
         return this;
     }
 
@@ -440,7 +736,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder color(Color color) {
-        item.setData(DataComponentTypes.DYED_COLOR, DyedItemColor.dyedItemColor(color));
+        write(DataComponentTypes.DYED_COLOR, DyedItemColor.dyedItemColor(color));
         return this;
     }
 
@@ -451,7 +747,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder potionColor(Color color) {
-        item.setData(DataComponentTypes.POTION_CONTENTS, getPotionBuilder().customColor(color).build());
+        writePotion(getPotionBuilder().customColor(color));
         return this;
     }
 
@@ -462,7 +758,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder potionEffect(PotionEffect... effect) {
-        item.setData(DataComponentTypes.POTION_CONTENTS, getPotionBuilder().addCustomEffects(List.of(effect)).build());
+        writePotion(getPotionBuilder().addCustomEffects(List.of(effect)));
         return this;
     }
 
@@ -473,7 +769,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder potionType(PotionType type) {
-        item.setData(DataComponentTypes.POTION_CONTENTS, getPotionBuilder().potion(type).build());
+        writePotion(getPotionBuilder().potion(type));
         return this;
     }
 
@@ -483,8 +779,10 @@ public class ItemBuilder {
      * @return A potion contents builder with any existing potion data
      */
     private PotionContents.Builder getPotionBuilder() {
-        PotionContents original = item.getData(DataComponentTypes.POTION_CONTENTS);
+        if (stagedPotion != null) return stagedPotion;
+        PotionContents original = current(DataComponentTypes.POTION_CONTENTS);
         PotionContents.Builder builder = PotionContents.potionContents();
+        if (staged) stagedPotion = builder;
         if (original == null) return builder;
         if (original.customColor() != null) builder.customColor(original.customColor());
         if (!original.customEffects().isEmpty()) builder.addCustomEffects(original.customEffects());
@@ -493,6 +791,10 @@ public class ItemBuilder {
         return builder;
     }
 
+    private void writePotion(PotionContents.Builder builder) {
+        if (!staged) mutable().setData(DataComponentTypes.POTION_CONTENTS, builder.build());
+    }
+
     /**
      * Adds pattern layers to a banner item.
      *
@@ -500,14 +802,21 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder pattern(Pattern... patterns) {
+        List<Pattern> patternList = getPatterns();
+        patternList.addAll(List.of(patterns));
+        if (!staged) mutable().setData(DataComponentTypes.BANNER_PATTERNS, BannerPatternLayers.bannerPatternLayers(patternList));
+        return this;
+    }
+
+    private List<Pattern> getPatterns() {
+        if (stagedPatterns != null) return stagedPatterns;
         List<Pattern> patternList = new ArrayList<>();
-        BannerPatternLayers previousPatterns = item.getData(DataComponentTypes.BANNER_PATTERNS);
+        BannerPatternLayers previousPatterns = current(DataComponentTypes.BANNER_PATTERNS);
         if (previousPatterns != null) {
             patternList.addAll(previousPatterns.patterns());
         }
-        patternList.addAll(List.of(patterns));
-        item.setData(DataComponentTypes.BANNER_PATTERNS, BannerPatternLayers.bannerPatternLayers(patternList));
-        return this;
+        if (staged) stagedPatterns = patternList;
+        return patternList;
     }
 
     /**
@@ -517,14 +826,21 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder addItem(ItemStack... items) {
+        List<ItemStack> itemList = getContainerItems();
+        itemList.addAll(List.of(items));
+        if (!staged) mutable().setData(DataComponentTypes.CONTAINER, ItemContainerContents.containerContents(itemList));
+        return this;
+    }
+
+    private List<ItemStack> getContainerItems() {
+        if (stagedContainer != null) return stagedContainer;
         List<ItemStack> itemList = new ArrayList<>();
-        ItemContainerContents previousItems = item.getData(DataComponentTypes.CONTAINER);
+        ItemContainerContents previousItems = current(DataComponentTypes.CONTAINER);
         if (previousItems != null) {
             itemList.addAll(previousItems.contents());
         }
-        itemList.addAll(List.of(items));
-        item.setData(DataComponentTypes.CONTAINER, ItemContainerContents.containerContents(itemList));
-        return this;
+        if (staged) stagedContainer = itemList;
+        return itemList;
     }
 
     /**
@@ -534,7 +850,11 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder setContents(List<ItemStack> contents) {
-        item.setData(DataComponentTypes.CONTAINER, ItemContainerContents.containerContents(contents));
+        if (staged) {
+            stagedContainer = new ArrayList<>(contents);
+            return this;
+        }
+        mutable().setData(DataComponentTypes.CONTAINER, ItemContainerContents.containerContents(contents));
         return this;
     }
 
@@ -552,7 +872,7 @@ public class ItemBuilder {
         for (int i = 0; i < amount; i++) {
             effectList.add(effect);
         }
-        item.setData(DataComponentTypes.FIREWORKS, getFireworksBuilder().addEffects(effectList));
+        writeFireworks(getFireworksBuilder().addEffects(effectList));
         return this;
     }
 
@@ -574,7 +894,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder fireworkPower(int power) {
-        item.setData(DataComponentTypes.FIREWORKS, getFireworksBuilder().flightDuration(power));
+        writeFireworks(getFireworksBuilder().flightDuration(power));
         return this;
     }
 
@@ -584,7 +904,8 @@ public class ItemBuilder {
      * @return A fireworks builder with any existing firework data
      */
     private Fireworks.Builder getFireworksBuilder() {
-        Fireworks original = item.getData(DataComponentTypes.FIREWORKS);
+        if (stagedFireworks != null) return stagedFireworks;
+        Fireworks original = current(DataComponentTypes.FIREWORKS);
         Fireworks.Builder builder = Fireworks.fireworks();
 
         if (original != null) {
@@ -592,11 +913,16 @@ public class ItemBuilder {
             builder.flightDuration(original.flightDuration());
         }
 
+        if (staged) stagedFireworks = builder;
         return builder;
     }
 
+    private void writeFireworks(Fireworks.Builder builder) {
+        if (!staged) mutable().setData(DataComponentTypes.FIREWORKS, builder);
+    }
+
     public ItemBuilder chargedProjectiles(ItemStack arrow) {
-        item.setData(DataComponentTypes.CHARGED_PROJECTILES, ChargedProjectiles.chargedProjectiles(List.of(arrow)));
+        write(DataComponentTypes.CHARGED_PROJECTILES, ChargedProjectiles.chargedProjectiles(List.of(arrow)));
         return this;
     }
 
@@ -607,7 +933,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder consumeSeconds(float seconds) {
-        item.setData(DataComponentTypes.CONSUMABLE, getConsumableBuilder().consumeSeconds(seconds).build());
+        writeConsumable(getConsumableBuilder().consumeSeconds(seconds));
         return this;
     }
 
@@ -618,7 +944,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder consumeAnimation(ItemUseAnimation animation) {
-        item.setData(DataComponentTypes.CONSUMABLE, getConsumableBuilder().animation(animation).build());
+        writeConsumable(getConsumableBuilder().animation(animation));
         return this;
     }
 
@@ -629,7 +955,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder consumingSound(Key sound) {
-        item.setData(DataComponentTypes.CONSUMABLE, getConsumableBuilder().sound(sound).build());
+        writeConsumable(getConsumableBuilder().sound(sound));
         return this;
     }
 
@@ -640,7 +966,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder consumeParticles(boolean hasParticles) {
-        item.setData(DataComponentTypes.CONSUMABLE, getConsumableBuilder().hasConsumeParticles(hasParticles).build());
+        writeConsumable(getConsumableBuilder().hasConsumeParticles(hasParticles));
         return this;
     }
 
@@ -651,7 +977,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder addConsumeEffects(ConsumeEffect... effects) {
-        item.setData(DataComponentTypes.CONSUMABLE, getConsumableBuilder().addEffects(List.of(effects)).build());
+        writeConsumable(getConsumableBuilder().addEffects(List.of(effects)));
         return this;
     }
 
@@ -675,7 +1001,7 @@ public class ItemBuilder {
      * @return the current instance of the ItemBuilder, allowing for method chaining.
      * */
     public ItemBuilder consumeApplyEffects(int probability, PotionEffect... effects) {
-        item.setData(DataComponentTypes.CONSUMABLE, getConsumableBuilder().addEffect(ConsumeEffect.applyStatusEffects(List.of(effects), probability)).build());
+        writeConsumable(getConsumableBuilder().addEffect(ConsumeEffect.applyStatusEffects(List.of(effects), probability)));
         return this;
     }
 
@@ -688,7 +1014,7 @@ public class ItemBuilder {
     public ItemBuilder consumeRemoveEffects(PotionEffectType... effects) {
         RegistryKeySet<@NotNull PotionEffectType> effectSet = RegistrySet.keySet(RegistryKey.MOB_EFFECT, Arrays.stream(effects)
                 .map(effect -> TypedKey.create(RegistryKey.MOB_EFFECT, effect.getKey())).toList());
-        item.setData(DataComponentTypes.CONSUMABLE, getConsumableBuilder().addEffect(ConsumeEffect.removeEffects(effectSet)).build());
+        writeConsumable(getConsumableBuilder().addEffect(ConsumeEffect.removeEffects(effectSet)));
         return this;
     }
 
@@ -698,7 +1024,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder consumeClearAllEffects() {
-        item.setData(DataComponentTypes.CONSUMABLE, getConsumableBuilder().addEffect(ConsumeEffect.clearAllStatusEffects()).build());
+        writeConsumable(getConsumableBuilder().addEffect(ConsumeEffect.clearAllStatusEffects()));
         return this;
     }
 
@@ -709,7 +1035,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder consumeTeleportRandomly(float range) {
-        item.setData(DataComponentTypes.CONSUMABLE, getConsumableBuilder().addEffect(ConsumeEffect.teleportRandomlyEffect(range)).build());
+        writeConsumable(getConsumableBuilder().addEffect(ConsumeEffect.teleportRandomlyEffect(range)));
         return this;
     }
 
@@ -720,7 +1046,7 @@ public class ItemBuilder {
      * @return the updated instance of the ItemBuilder
      */
     public ItemBuilder consumePlaySound(Key key) {
-        item.setData(DataComponentTypes.CONSUMABLE, getConsumableBuilder().addEffect(ConsumeEffect.playSoundConsumeEffect(key)).build());
+        writeConsumable(getConsumableBuilder().addEffect(ConsumeEffect.playSoundConsumeEffect(key)));
         return this;
     }
 
@@ -730,8 +1056,10 @@ public class ItemBuilder {
      * @return A consumable builder with any existing consumable data
      */
     private Consumable.Builder getConsumableBuilder() {
-        Consumable original = item.getData(DataComponentTypes.CONSUMABLE);
+        if (stagedConsumable != null) return stagedConsumable;
+        Consumable original = current(DataComponentTypes.CONSUMABLE);
         Consumable.Builder builder = Consumable.consumable();
+        if (staged) stagedConsumable = builder;
 
         if (original == null) return builder;
 
@@ -744,6 +1072,10 @@ public class ItemBuilder {
         return builder;
     }
 
+    private void writeConsumable(Consumable.Builder builder) {
+        if (!staged) mutable().setData(DataComponentTypes.CONSUMABLE, builder.build());
+    }
+
     /**
      * Sets a use cooldown period for the item.
      *
@@ -751,7 +1083,7 @@ public class ItemBuilder {
      * @return the current instance of {@code ItemBuilder} for method chaining
      */
     public ItemBuilder useCooldown(int seconds) {
-        item.setData(DataComponentTypes.USE_COOLDOWN, UseCooldown.useCooldown(seconds));
+        write(DataComponentTypes.USE_COOLDOWN, UseCooldown.useCooldown(seconds));
         return this;
     }
 
@@ -763,7 +1095,7 @@ public class ItemBuilder {
      * @return the updated ItemBuilder instance
      */
     public ItemBuilder useCooldown(int seconds, String key) {
-        item.setData(DataComponentTypes.USE_COOLDOWN, UseCooldown.useCooldown(seconds).cooldownGroup(new NamespacedKey(utils.plugin.getName(), key)).build());
+        write(DataComponentTypes.USE_COOLDOWN, UseCooldown.useCooldown(seconds).cooldownGroup(new NamespacedKey(utils.plugin.getName(), key)).build());
         return this;
     }
 
@@ -777,7 +1109,7 @@ public class ItemBuilder {
      * @return the current instance of ItemBuilder for chaining
      */
     public ItemBuilder useCooldown(int seconds, String identifier, String key) {
-        item.setData(DataComponentTypes.USE_COOLDOWN, UseCooldown.useCooldown(seconds).cooldownGroup(new NamespacedKey(identifier, key)).build());
+        write(DataComponentTypes.USE_COOLDOWN, UseCooldown.useCooldown(seconds).cooldownGroup(new NamespacedKey(identifier, key)).build());
         return this;
     }
 
@@ -788,7 +1120,7 @@ public class ItemBuilder {
      * @return the current instance of {@code ItemBuilder} for method chaining
      */
     public ItemBuilder rarity(ItemRarity rarity) {
-        item.setData(DataComponentTypes.RARITY, rarity);
+        write(DataComponentTypes.RARITY, rarity);
         return this;
     }
 
@@ -801,7 +1133,7 @@ public class ItemBuilder {
      * @return the current instance of {@code ItemBuilder} with updated food properties.
      */
     public ItemBuilder food(int nutrition, float saturation, boolean canAlwaysEat) {
-        item.setData(DataComponentTypes.FOOD, FoodProperties.food().nutrition(nutrition).saturation(saturation).canAlwaysEat(canAlwaysEat).build());
+        write(DataComponentTypes.FOOD, FoodProperties.food().nutrition(nutrition).saturation(saturation).canAlwaysEat(canAlwaysEat).build());
         return this;
     }
 
@@ -825,7 +1157,7 @@ public class ItemBuilder {
      * @return the current instance of {@code ItemBuilder} for method chaining
      */
     public ItemBuilder model(String namespace, String key) {
-        item.setData(DataComponentTypes.ITEM_MODEL, new NamespacedKey(namespace, key));
+        write(DataComponentTypes.ITEM_MODEL, new NamespacedKey(namespace, key));
         return this;
     }
 
@@ -836,7 +1168,7 @@ public class ItemBuilder {
      * @return the current instance of {@code ItemBuilder} for method chaining
      */
     public ItemBuilder model(Material material) {
-        item.setData(DataComponentTypes.ITEM_MODEL, Objects.requireNonNull(material.getKey()));
+        write(DataComponentTypes.ITEM_MODEL, Objects.requireNonNull(material.getKey()));
         return this;
     }
 
@@ -847,7 +1179,7 @@ public class ItemBuilder {
      * @return the current instance of {@code ItemBuilder} for method chaining
      */
     public ItemBuilder model(Key key) {
-        item.setData(DataComponentTypes.ITEM_MODEL, key);
+        write(DataComponentTypes.ITEM_MODEL, key);
         return this;
     }
 
@@ -858,12 +1190,12 @@ public class ItemBuilder {
      * @return the current ItemBuilder instance with the updated maximum stack size
      */
     public ItemBuilder maxStackSize(int stackSize) {
-        item.setData(DataComponentTypes.MAX_STACK_SIZE, stackSize);
+        write(DataComponentTypes.MAX_STACK_SIZE, stackSize);
         return this;
     }
 
     public ItemBuilder damageResistant(TagKey<DamageType> damageType) {
-        item.setData(DataComponentTypes.DAMAGE_RESISTANT, DamageResistant.damageResistant(damageType));
+        write(DataComponentTypes.DAMAGE_RESISTANT, DamageResistant.damageResistant(damageType));
         return this;
     }
 
@@ -874,7 +1206,7 @@ public class ItemBuilder {
      * @return the updated instance of ItemBuilder with the damage resistant data applied
      */
     public ItemBuilder damageResistant(Key key) {
-        item.setData(DataComponentTypes.DAMAGE_RESISTANT, DamageResistant.damageResistant(TagKey.create(RegistryKey.DAMAGE_TYPE, key)));
+        write(DataComponentTypes.DAMAGE_RESISTANT, DamageResistant.damageResistant(TagKey.create(RegistryKey.DAMAGE_TYPE, key)));
         return this;
     }
 
@@ -907,7 +1239,11 @@ public class ItemBuilder {
      * @return The current instance of ItemBuilder, allowing for method chaining.
      */
     public ItemBuilder deathProtection() {
-        item.setData(DataComponentTypes.DEATH_PROTECTION, DeathProtection.deathProtection());
+        if (staged) {
+            stagedDeathProtection = DeathProtection.deathProtection();
+            return this;
+        }
+        mutable().setData(DataComponentTypes.DEATH_PROTECTION, DeathProtection.deathProtection());
         return this;
     }
 
@@ -933,7 +1269,7 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder addDeathProtectionEffects(ConsumeEffect... effects) {
-        item.setData(DataComponentTypes.DEATH_PROTECTION, getDeathProtectionBuilder().addEffects(List.of(effects)).build());
+        writeDeathProtection(getDeathProtectionBuilder().addEffects(List.of(effects)));
         return this;
     }
 
@@ -955,8 +1291,8 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder deathProtectionApplyEffects(float probability, PotionEffect... effects) {
-        item.setData(DataComponentTypes.DEATH_PROTECTION, getDeathProtectionBuilder()
-                .addEffect(ConsumeEffect.applyStatusEffects(List.of(effects), probability)).build());
+        writeDeathProtection(getDeathProtectionBuilder()
+                .addEffect(ConsumeEffect.applyStatusEffects(List.of(effects), probability)));
         return this;
     }
 
@@ -969,8 +1305,8 @@ public class ItemBuilder {
     public ItemBuilder deathProtectionRemoveEffects(PotionEffectType... effects) {
         RegistryKeySet<@NotNull PotionEffectType> effectSet = RegistrySet.keySet(RegistryKey.MOB_EFFECT, Arrays.stream(effects)
                 .map(effect -> TypedKey.create(RegistryKey.MOB_EFFECT, effect.getKey())).toList());
-        item.setData(DataComponentTypes.DEATH_PROTECTION, getDeathProtectionBuilder()
-                .addEffect(ConsumeEffect.removeEffects(effectSet)).build());
+        writeDeathProtection(getDeathProtectionBuilder()
+                .addEffect(ConsumeEffect.removeEffects(effectSet)));
         return this;
     }
 
@@ -980,8 +1316,8 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder deathProtectionClearAllEffects() {
-        item.setData(DataComponentTypes.DEATH_PROTECTION, getDeathProtectionBuilder()
-                .addEffect(ConsumeEffect.clearAllStatusEffects()).build());
+        writeDeathProtection(getDeathProtectionBuilder()
+                .addEffect(ConsumeEffect.clearAllStatusEffects()));
         return this;
     }
 
@@ -992,8 +1328,8 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public ItemBuilder deathProtectionPlaySound(Key key) {
-        item.setData(DataComponentTypes.DEATH_PROTECTION, getDeathProtectionBuilder()
-                .addEffect(ConsumeEffect.playSoundConsumeEffect(key)).build());
+        writeDeathProtection(getDeathProtectionBuilder()
+                .addEffect(ConsumeEffect.playSoundConsumeEffect(key)));
         return this;
     }
 
@@ -1003,8 +1339,10 @@ public class ItemBuilder {
      * @return A DeathProtection builder with any existing data
      */
     private DeathProtection.Builder getDeathProtectionBuilder() {
-        DeathProtection original = item.getData(DataComponentTypes.DEATH_PROTECTION);
+        if (stagedDeathProtection != null) return stagedDeathProtection;
+        DeathProtection original = current(DataComponentTypes.DEATH_PROTECTION);
         DeathProtection.Builder builder = DeathProtection.deathProtection();
+        if (staged) stagedDeathProtection = builder;
 
         if (original == null) return builder;
 
@@ -1013,8 +1351,12 @@ public class ItemBuilder {
         return builder;
     }
 
+    private void writeDeathProtection(DeathProtection.Builder builder) {
+        if (!staged) mutable().setData(DataComponentTypes.DEATH_PROTECTION, builder.build());
+    }
+
     public ItemBuilder breakSound(Key soundKey) {
-        item.setData(DataComponentTypes.BREAK_SOUND, soundKey);
+        write(DataComponentTypes.BREAK_SOUND, soundKey);
         return this;
     }
 
@@ -1026,7 +1368,8 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public <T> ItemBuilder setDataComponent(DataComponentType.NonValued type) {
-        item.setData(type);
+        discardStaged(type);
+        write(type);
         return this;
     }
 
@@ -1039,7 +1382,8 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public <T> ItemBuilder setDataComponent(DataComponentType.Valued<@NotNull T> type, T value) {
-        item.setData(type, value);
+        discardStaged(type);
+        write(type, value);
         return this;
     }
 
@@ -1052,7 +1396,8 @@ public class ItemBuilder {
      * @return This builder instance for chaining
      */
     public <T> ItemBuilder setDataComponent(DataComponentType.Valued<@NotNull T> type, DataComponentBuilder<@NotNull T> builder) {
-        item.setData(type, builder);
+        discardStaged(type);
+        write(type, builder.build());
         return this;
     }
 
@@ -1062,6 +1407,61 @@ public class ItemBuilder {
      * @return The built ItemStack
      */
     public ItemStack build() {
+        flush();
         return item;
     }
+
+    /**
+     * Builds the item and compiles it into an immutable {@link ItemTemplate}.
+     * <br><br>
+     * The template keeps its own copy of the built item, so later changes to this builder
+     * do not affect it. Use it for items that are handed out repeatedly, such as kits.
+     *
+     * @return A new {@link ItemTemplate} holding the built item as its prototype
+     */
+    public ItemTemplate compile() {
+        return new ItemTemplate(build().clone(), rawName, rawCustomName, utils);
+    }
+
+    /**
+     * Writes every staged data component to the item exactly once and clears the staged state.
+     * Kept values are written first and accumulated components last, since those already started from any kept value.
+     * Does nothing if the builder is not in staged mode.
+     */
+    @SuppressWarnings("unchecked")
+    private void flush() {
+        if (!staged) return;
+        if (stagedAmount >= 0 && item.getAmount() != stagedAmount) mutable().setAmount(stagedAmount);
+        if (stagedValues != null) {
+            stagedValues.forEach((type, value) -> {
+                if (type instanceof DataComponentType.NonValued nonValued) mutable().setData(nonValued);
+                else mutable().setData((DataComponentType.Valued<Object>) type, value);
+            });
+        }
+        if (stagedLore != null) mutable().setData(DataComponentTypes.LORE, ItemLore.lore(stagedLore));
+        if (stagedEnchantments != null) mutable().setData(DataComponentTypes.ENCHANTMENTS, ItemEnchantments.itemEnchantments(stagedEnchantments));
+        if (stagedHidden != null) {
+            mutable().setData(DataComponentTypes.TOOLTIP_DISPLAY, TooltipDisplay.tooltipDisplay()
+                    .hideTooltip(stagedHideTooltip).hiddenComponents(stagedHidden).build());
+        }
+        if (stagedPotion != null) mutable().setData(DataComponentTypes.POTION_CONTENTS, stagedPotion.build());
+        if (stagedPatterns != null) mutable().setData(DataComponentTypes.BANNER_PATTERNS, BannerPatternLayers.bannerPatternLayers(stagedPatterns));
+        if (stagedContainer != null) mutable().setData(DataComponentTypes.CONTAINER, ItemContainerContents.containerContents(stagedContainer));
+        if (stagedFireworks != null) mutable().setData(DataComponentTypes.FIREWORKS, stagedFireworks.build());
+        if (stagedConsumable != null) mutable().setData(DataComponentTypes.CONSUMABLE, stagedConsumable.build());
+        if (stagedDeathProtection != null) mutable().setData(DataComponentTypes.DEATH_PROTECTION, stagedDeathProtection.build());
+
+        stagedAmount = -1;
+        stagedValues = null;
+        stagedLore = null;
+        stagedEnchantments = null;
+        stagedHidden = null;
+        stagedHideTooltip = false;
+        stagedPotion = null;
+        stagedPatterns = null;
+        stagedContainer = null;
+        stagedFireworks = null;
+        stagedConsumable = null;
+        stagedDeathProtection = null;
+    }
 }
\ No newline at end of file
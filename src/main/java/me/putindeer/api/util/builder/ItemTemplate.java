@@ -0,0 +1,147 @@
+package me.putindeer.api.util.builder;
+
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import me.putindeer.api.util.PluginUtils;
+import me.putindeer.api.util.item.ItemFingerprint;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Map;
+
+/**
+ * An immutable, fully built item prototype compiled from an {@link ItemBuilder}.
+ * <br><br>
+ * Every call to {@code create} returns a cheap {@link ItemStack#clone()} of the prototype instead
+ * of re-running the whole builder chain (MiniMessage parsing, profiles, consumable effects, etc.).
+ * <p>
+ * Usage example:
+ * <pre>
+ * {@code
+ * ItemTemplate sword = utils.ib(Material.DIAMOND_SWORD)
+ *     .name("<red>{player}'s Sword")
+ *     .enchant(Enchantment.SHARPNESS, 5)
+ *     .compile();
+ *
+ * ItemStack item = sword.create(1, Map.of("player", player.getName()));
+ * }
+ * </pre>
+ */
+@SuppressWarnings({"unused", "UnstableApiUsage"})
+public final class ItemTemplate {
+    private final ItemStack prototype;
+    private final String name;
+    private final String customName;
+    private final PluginUtils utils;
+    private volatile Long fingerprint;
+
+    ItemTemplate(ItemStack prototype, String name, String customName, PluginUtils utils) {
+        this.prototype = prototype;
+        this.name = name;
+        this.customName = customName;
+        this.utils = utils;
+    }
+
+    /**
+     * Creates a new copy of the prototype.
+     *
+     * @return A new {@link ItemStack} identical to the prototype
+     */
+    public ItemStack create() {
+        return prototype.clone();
+    }
+
+    /**
+     * Creates a new copy of the prototype with the specified amount.
+     *
+     * @param amount The amount of items in the stack
+     * @return A new {@link ItemStack} identical to the prototype except for its amount
+     */
+    public ItemStack create(int amount) {
+        ItemStack item = prototype.clone();
+        item.setAmount(amount);
+        return item;
+    }
+
+    /**
+     * Creates a new copy of the prototype, replacing {@code {key}} placeholders in its name and custom name.
+     *
+     * @param placeholders The placeholder keys (without braces) mapped to their replacement
+     * @return A new {@link ItemStack} with the placeholders applied
+     */
+    public ItemStack create(Map<String, String> placeholders) {
+        return create(prototype.getAmount(), placeholders);
+    }
+
+    /**
+     * Creates a new copy of the prototype with the specified amount, replacing {@code {key}} placeholders
+     * in its name and custom name.
+     * <br><br>
+     * Only the names are re-rendered; every other component is copied from the prototype as-is.
+     *
+     * @param amount       The amount of items in the stack
+     * @param placeholders The placeholder keys (without braces) mapped to their replacement
+     * @return A new {@link ItemStack} with the amount and placeholders applied
+     */
+    public ItemStack create(int amount, Map<String, String> placeholders) {
+        ItemStack item = create(amount);
+        if (placeholders.isEmpty()) return item;
+        if (name != null) {
+            item.setData(DataComponentTypes.ITEM_NAME, ItemBuilder.format(utils, replace(name, placeholders)));
+        }
+        if (customName != null) {
+            item.setData(DataComponentTypes.CUSTOM_NAME, ItemBuilder.format(utils, replace(customName, placeholders)));
+        }
+        return item;
+    }
+
+    /**
+     * Creates a new {@link ItemBuilder} on top of a copy of the prototype, for one-off modifications.
+     *
+     * @return A new {@link ItemBuilder} wrapping a copy of the prototype
+     */
+    public ItemBuilder toBuilder() {
+        return ItemBuilder.owned(create(), utils);
+    }
+
+    /**
+     * Gets the type of the prototype without copying it.
+     *
+     * @return The {@link Material} of the prototype
+     */
+    public Material getType() {
+        return prototype.getType();
+    }
+
+    /**
+     * Gets the fingerprint of the prototype, computing it only once.
+     * Items created with placeholders usually have a different fingerprint, since it includes the names.
+     *
+     * @return The {@link ItemFingerprint} of the prototype
+     */
+    public long fingerprint() {
+        Long value = fingerprint;
+        if (value == null) {
+            value = ItemFingerprint.of(prototype);
+            fingerprint = value;
+        }
+        return value;
+    }
+
+    /**
+     * Checks if a stack is similar to the prototype, rejecting it by type first.
+     *
+     * @param item The stack to check, may be null
+     * @return {@code true} if the stack is similar to the prototype
+     */
+    public boolean isSimilar(ItemStack item) {
+        return item != null && item.getType() == prototype.getType() && prototype.isSimilar(item);
+    }
+
+    private static String replace(String input, Map<String, String> placeholders) {
+        String result = input;
+        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
+            result = result.replace("{" + entry.getKey() + "}", entry.getValue());
+        }
+        return result;
+    }
+}
@@ -3,11 +3,21 @@ package me.putindeer.api.util.builder;
 import org.bukkit.*;
 import org.bukkit.WorldCreator;
 import org.bukkit.WorldType;
+import org.bukkit.entity.Player;
 import org.bukkit.generator.ChunkGenerator;
+import me.putindeer.api.util.world.WorldFiles;
+import org.bukkit.plugin.Plugin;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A builder class for creating and configuring {@link World} objects with a fluent interface.<p>
@@ -47,6 +57,8 @@ public class WorldBuilder {
     private Boolean autoSave;
     private Location spawnLocation;
     private final Map<GameRule<?>, Object> gamerules = new HashMap<>();
+    private int preloadRadius;
+    private Path template;
 
     /**
      * Creates a new WorldBuilder instance.
@@ -183,17 +195,41 @@ public class WorldBuilder {
     }
 
     /**
-     * Checks if a world with the given name already exists.
+     * Sets the radius of chunks around the spawn to load before {@link #buildAsync(Plugin)} completes.
      *
-     * @param name The name of the world to check
-     * @return True if the world exists, false otherwise
+     * @param radius The radius in chunks, 0 to only load the spawn chunk
+     * @return This {@link WorldBuilder} instance
      */
-    private boolean worldExists(String name) {
-        if (Bukkit.getWorld(name) != null) {
-            return true;
-        }
-        File worldDir = new File(Bukkit.getWorldContainer(), name);
-        return worldDir.exists() && worldDir.isDirectory();
+    public WorldBuilder preloadRadius(int radius) {
+        this.preloadRadius = radius;
+        return this;
+    }
+
+    /**
+     * Sets a template world folder to clone when the world doesn't exist yet.
+     * <br><br>
+     * The template is copied to the world container under this world's name, skipping {@code uid.dat}
+     * and {@code session.lock}, and the copy is then loaded as a new world. If the world is already loaded
+     * or its folder already exists, the template is ignored.
+     *
+     * @param template The template world folder
+     * @return This {@link WorldBuilder} instance
+     */
+    public WorldBuilder fromTemplate(Path template) {
+        this.template = template;
+        return this;
+    }
+
+    /**
+     * Clones the template into this world's folder if a template is set and the folder doesn't exist.
+     *
+     * @throws IOException if the template can't be copied
+     */
+    private void cloneTemplate() throws IOException {
+        if (template == null) return;
+        Path target = Bukkit.getWorldContainer().toPath().resolve(name);
+        if (Files.exists(target)) return;
+        WorldFiles.copy(template, target);
     }
 
     /**
@@ -225,20 +261,176 @@ public class WorldBuilder {
      * Creates or loads the world and applies all configured options.
      *
      * @return The created or loaded {@link World} instance
-     * @throws IllegalStateException if the world name has not been specified
+     * @throws IllegalStateException if the world name has not been specified or the world could not be created
      */
-    @SuppressWarnings("unchecked")
     public World build() {
         if (name == null || name.isEmpty()) {
             throw new IllegalStateException("World name must be specified.");
         }
 
-        World world = worldExists(name)
-                ? Bukkit.getWorld(name)
-                : createNewWorld();
+        World world = Bukkit.getWorld(name);
+        if (world == null) {
+            try {
+                cloneTemplate();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not clone template " + template + " into world " + name, e);
+            }
+            world = createNewWorld();
+        }
+        if (world == null) {
+            throw new IllegalStateException("World " + name + " could not be created.");
+        }
+
+        applySettings(world);
+        return world;
+    }
+
+    /**
+     * Creates or loads the world without blocking the main thread on filesystem checks or chunk loading.
+     * <br><br>
+     * The world folder is checked (and cloned from the template, if any) asynchronously, then the world is created or loaded on the main thread
+     * (the server requires it), and the chunks within {@link #preloadRadius(int)} of the spawn are loaded
+     * with {@link World#getChunkAtAsync(int, int)} before the future completes.
+     * All the other options are applied as in {@link #build()}.
+     *
+     * @param plugin The plugin used to schedule the tasks
+     * @return A future completed with the created or loaded {@link World}
+     * @throws IllegalStateException if the world name has not been specified
+     */
+    public CompletableFuture<World> buildAsync(Plugin plugin) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalStateException("World name must be specified.");
+        }
+
+        CompletableFuture<World> future = new CompletableFuture<>();
+        boolean loaded = Bukkit.getWorld(name) != null;
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            File worldDir = new File(Bukkit.getWorldContainer(), name);
+            if (!loaded) {
+                try {
+                    cloneTemplate();
+                } catch (IOException e) {
+                    future.completeExceptionally(e);
+                    return;
+                }
+            }
+            if (worldDir.exists() && !new File(worldDir, "level.dat").isFile()) {
+                future.completeExceptionally(new IllegalStateException("Folder " + worldDir + " exists but is not a world."));
+                return;
+            }
+
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                try {
+                    World world = Bukkit.getWorld(name);
+                    if (world == null) {
+                        world = createNewWorld();
+                    }
+                    if (world == null) {
+                        future.completeExceptionally(new IllegalStateException("World " + name + " could not be created."));
+                        return;
+                    }
+                    applySettings(world);
+                    World created = world;
+                    preloadChunks(world).whenComplete((ignored, throwable) -> {
+                        if (throwable != null) future.completeExceptionally(throwable);
+                        else future.complete(created);
+                    });
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Loads the chunks within the preload radius of the spawn asynchronously.
+     *
+     * @param world The world to load the chunks of
+     * @return A future completed once every chunk is loaded
+     */
+    private CompletableFuture<Void> preloadChunks(World world) {
+        Location spawn = world.getSpawnLocation();
+        int centerX = spawn.getBlockX() >> 4;
+        int centerZ = spawn.getBlockZ() >> 4;
+
+        List<CompletableFuture<Chunk>> chunks = new ArrayList<>();
+        for (int x = centerX - preloadRadius; x <= centerX + preloadRadius; x++) {
+            for (int z = centerZ - preloadRadius; z <= centerZ + preloadRadius; z++) {
+                chunks.add(world.getChunkAtAsync(x, z));
+            }
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Unloads a world, first moving any player still in it to the spawn of the main world.
+     *
+     * @param world The world to unload
+     * @param save  Whether to save the world before unloading it
+     * @return True if the world was unloaded, false otherwise
+     * @throws IllegalArgumentException if the world is the main world, which can't be unloaded
+     */
+    public static boolean unload(World world, boolean save) {
+        World main = Bukkit.getWorlds().get(0);
+        if (world.equals(main)) {
+            throw new IllegalArgumentException("The main world " + world.getName() + " can't be unloaded.");
+        }
+        for (Player player : world.getPlayers()) {
+            player.teleport(main.getSpawnLocation());
+        }
+        return Bukkit.unloadWorld(world, save);
+    }
 
-        assert world != null;
+    /**
+     * Unloads a world without saving it and deletes its folder off the main thread with {@link WorldFiles#deleteAsync(Path)}.
+     * Must be called from the main thread.
+     *
+     * @param plugin The plugin used to schedule the tasks
+     * @param world  The world to delete
+     * @return A future completed on the main thread once the folder is deleted
+     * @throws IllegalArgumentException if the world is the main world
+     */
+    public static CompletableFuture<Void> delete(Plugin plugin, World world) {
+        Path folder = world.getWorldFolder().toPath();
+        if (!unload(world, false)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Could not unload world " + world.getName() + "."));
+        }
+        return deleteFolder(plugin, folder);
+    }
+
+    /**
+     * Deletes a world by name, unloading it without saving first if it is loaded, as in {@link #delete(Plugin, World)}.
+     * Does nothing but complete the future if the world doesn't exist.
+     *
+     * @param plugin The plugin used to schedule the tasks
+     * @param name   The name of the world to delete
+     * @return A future completed on the main thread once the folder is deleted
+     */
+    public static CompletableFuture<Void> delete(Plugin plugin, String name) {
+        World world = Bukkit.getWorld(name);
+        if (world != null) {
+            return delete(plugin, world);
+        }
+        return deleteFolder(plugin, Bukkit.getWorldContainer().toPath().resolve(name));
+    }
 
+    private static CompletableFuture<Void> deleteFolder(Plugin plugin, Path folder) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        WorldFiles.deleteAsync(folder).whenComplete((ignored, throwable) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (throwable != null) future.completeExceptionally(throwable);
+            else future.complete(null);
+        }));
+        return future;
+    }
+
+    /**
+     * Applies the configured difficulty, auto-save, spawn location and game rules to a world.
+     *
+     * @param world The world to apply the options to
+     */
+    @SuppressWarnings("unchecked")
+    private void applySettings(World world) {
         if (difficulty != null) {
             world.setDifficulty(difficulty);
         }
@@ -252,7 +444,5 @@ public class WorldBuilder {
             GameRule<Object> rule = (GameRule<Object>) entry.getKey();
             world.setGameRule(rule, entry.getValue());
         }
-
-        return world;
     }
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+package me.putindeer.api.util.generator;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.generator.WorldInfo;
+import me.putindeer.api.util.builder.WorldBuilder;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * A {@link VoidGenerator} that generates flat layers and bounded platforms, for flat worlds and lobbies.
+ * <br><br>
+ * The layout is compiled once, the first time a chunk is generated: full layers become one
+ * {@link ChunkData#setRegion} call each, and bounded fills (such as platforms) are clipped into
+ * per-chunk regions, cached by chunk. Generating a chunk then only stamps its precomputed regions,
+ * without a single {@link ChunkData#setBlock} call. Fills are applied in the order they were added,
+ * so later fills overwrite earlier ones. Every vanilla generation stage stays disabled, as in {@link VoidGenerator}.
+ * <br><br>
+ * No benchmark numbers were recorded for this generator. The per-chunk cost is one {@link ChunkData#setRegion} call
+ * per layer, plus one per fill crossing the chunk. To compare it with a {@code setBlock} loop or the flat world
+ * preset, measure them the same way as {@link VoidGenerator}.
+ * <p>
+ * Usage example:
+ * <pre>
+ * {@code
+ * LayeredGenerator generator = new LayeredGenerator()
+ *     .layer(Material.BEDROCK, -64)
+ *     .platform(Material.SMOOTH_STONE, 64, 48);
+ *
+ * World lobby = new WorldBuilder("lobby").generator(generator).build();
+ * }
+ * </pre>
+ * This generator can be used with {@link WorldBuilder} like any other generator.
+ * The layout must not be changed after the generator is given to a world.
+ */
+@SuppressWarnings("unused")
+public class LayeredGenerator extends VoidGenerator {
+    private static final Region[] EMPTY = new Region[0];
+    private static final int NO_TOP = Integer.MIN_VALUE;
+
+    private final List<Fill> fills = new ArrayList<>();
+    private volatile Layout layout;
+
+    /**
+     * Creates a new LayeredGenerator whose chunks all use {@link Biome#THE_VOID}.
+     */
+    public LayeredGenerator() {
+        super();
+    }
+
+    /**
+     * Creates a new LayeredGenerator whose chunks all use the given biome.
+     *
+     * @param biome The biome of every chunk
+     */
+    public LayeredGenerator(Biome biome) {
+        super(biome);
+    }
+
+    /**
+     * Adds a layer covering every chunk at a height.
+     *
+     * @param material The material of the layer
+     * @param y        The y-coordinate of the layer
+     * @return This LayeredGenerator instance
+     */
+    public LayeredGenerator layer(Material material, int y) {
+        return layers(material, y, y);
+    }
+
+    /**
+     * Adds layers covering every chunk between two heights.
+     *
+     * @param material The material of the layers
+     * @param fromY    The lowest y-coordinate, inclusive
+     * @param toY      The highest y-coordinate, inclusive
+     * @return This LayeredGenerator instance
+     */
+    public LayeredGenerator layers(Material material, int fromY, int toY) {
+        return add(new Fill(material.createBlockData(), false, 0, Math.min(fromY, toY), 0, 0, Math.max(fromY, toY), 0));
+    }
+
+    /**
+     * Adds a square platform of {@code size}x{@code size} blocks centered on (0, 0).
+     *
+     * @param material The material of the platform
+     * @param y        The y-coordinate of the platform
+     * @param size     The width of the platform, in blocks
+     * @return This LayeredGenerator instance
+     */
+    public LayeredGenerator platform(Material material, int y, int size) {
+        int min = -(size / 2);
+        return fill(material, min, y, min, min + size - 1, y, min + size - 1);
+    }
+
+    /**
+     * Adds a cuboid between two corners, both inclusive.
+     *
+     * @param material The material of the cuboid
+     * @param x1       The x-coordinate of the first corner
+     * @param y1       The y-coordinate of the first corner
+     * @param z1       The z-coordinate of the first corner
+     * @param x2       The x-coordinate of the second corner
+     * @param y2       The y-coordinate of the second corner
+     * @param z2       The z-coordinate of the second corner
+     * @return This LayeredGenerator instance
+     */
+    public LayeredGenerator fill(Material material, int x1, int y1, int z1, int x2, int y2, int z2) {
+        return add(new Fill(material.createBlockData(), true,
+                Math.min(x1, x2), Math.min(y1, y2), Math.min(z1, z2),
+                Math.max(x1, x2), Math.max(y1, y2), Math.max(z1, z2)));
+    }
+
+    private LayeredGenerator add(Fill fill) {
+        fills.add(fill);
+        layout = null;
+        return this;
+    }
+
+    @Override
+    public void generateSurface(@NotNull WorldInfo info, @NotNull Random random, int chunkX, int chunkZ, @NotNull ChunkData data) {
+        Layout current = layout();
+        Region[] regions = current.chunks.getOrDefault(Chunk.getChunkKey(chunkX, chunkZ), current.layers);
+        for (Region region : regions) {
+            data.setRegion(region.minX, region.minY, region.minZ, region.maxX, region.maxY, region.maxZ, region.data);
+        }
+        if (current.spawnTop == NO_TOP) super.generateSurface(info, random, chunkX, chunkZ, data);
+    }
+
+    /**
+     * Places the spawn on top of the highest block generated at (0, 0). If no fill covers (0, 0),
+     * the {@link VoidGenerator} glass block is generated there and the spawn is placed on top of it.
+     */
+    @Override
+    public Location getFixedSpawnLocation(@NotNull World world, @NotNull Random random) {
+        int top = layout().spawnTop;
+        return top == NO_TOP ? super.getFixedSpawnLocation(world, random) : new Location(world, 0.5, top + 1, 0.5);
+    }
+
+    private Layout layout() {
+        Layout current = layout;
+        if (current == null) {
+            synchronized (this) {
+                current = layout;
+                if (current == null) {
+                    current = compile();
+                    layout = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Layout compile() {
+        int spawnTop = NO_TOP;
+        for (Fill fill : fills) {
+            if (!fill.bounded || (fill.minX <= 0 && fill.maxX >= 0 && fill.minZ <= 0 && fill.maxZ >= 0)) {
+                spawnTop = Math.max(spawnTop, fill.maxY);
+            }
+        }
+
+        Map<Long, List<Region>> chunks = new HashMap<>();
+        for (Fill fill : fills) {
+            if (!fill.bounded) continue;
+            for (int chunkX = fill.minX >> 4; chunkX <= fill.maxX >> 4; chunkX++) {
+                for (int chunkZ = fill.minZ >> 4; chunkZ <= fill.maxZ >> 4; chunkZ++) {
+                    chunks.put(Chunk.getChunkKey(chunkX, chunkZ), new ArrayList<>());
+                }
+            }
+        }
+
+        List<Region> layers = new ArrayList<>();
+        for (Fill fill : fills) {
+            if (!fill.bounded) {
+                Region region = new Region(0, fill.minY, 0, 16, fill.maxY + 1, 16, fill.data);
+                layers.add(region);
+                chunks.values().forEach(regions -> regions.add(region));
+                continue;
+            }
+            for (int chunkX = fill.minX >> 4; chunkX <= fill.maxX >> 4; chunkX++) {
+                for (int chunkZ = fill.minZ >> 4; chunkZ <= fill.maxZ >> 4; chunkZ++) {
+                    int baseX = chunkX << 4, baseZ = chunkZ << 4;
+                    chunks.get(Chunk.getChunkKey(chunkX, chunkZ)).add(new Region(
+                            Math.max(fill.minX, baseX) - baseX, fill.minY, Math.max(fill.minZ, baseZ) - baseZ,
+                            Math.min(fill.maxX, baseX + 15) - baseX + 1, fill.maxY + 1, Math.min(fill.maxZ, baseZ + 15) - baseZ + 1,
+                            fill.data));
+                }
+            }
+        }
+
+        Map<Long, Region[]> compiled = new HashMap<>(chunks.size() * 2);
+        chunks.forEach((key, regions) -> compiled.put(key, regions.toArray(EMPTY)));
+        return new Layout(layers.toArray(EMPTY), compiled, spawnTop);
+    }
+
+    private record Fill(BlockData data, boolean bounded, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+    }
+
+    /**
+     * A chunk-relative region, with exclusive maximum coordinates as expected by {@link ChunkData#setRegion}.
+     */
+    private record Region(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, BlockData data) {
+    }
+
+    private record Layout(Region[] layers, Map<Long, Region[]> chunks, int spawnTop) {
+    }
+}
@@ -0,0 +1,283 @@
+package me.putindeer.api.util.generator;
+
+import me.putindeer.api.util.world.BlockSnapshot;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.generator.WorldInfo;
+import me.putindeer.api.util.builder.WorldBuilder;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A {@link VoidGenerator} that generates a prebuilt structure, such as an arena, as part of the world itself.
+ * <br><br>
+ * The structure is read from a schematic file written by {@link #write(Path, BlockSnapshot)}, which is memory-mapped
+ * when the generator is created. Only the palette and the chunk index are decoded up front: each chunk's blocks
+ * are decoded straight from the mapped file in {@link #generateSurface}, during the server's asynchronous chunk
+ * generation, and only for the chunks that are actually generated. The structure exists as soon as the world
+ * loads, without pasting it block by block at runtime. Chunks outside the structure stay void.
+ * <p>
+ * Usage example:
+ * <pre>
+ * {@code
+ * // Once, from the built arena:
+ * SchematicGenerator.write(file, BlockSnapshot.capture(cornerOne, cornerTwo));
+ *
+ * // Then, for every arena world:
+ * World arena = new WorldBuilder("arena_1").generator(new SchematicGenerator(file)).build();
+ * }
+ * </pre>
+ * File layout: {@code magic, version, origin x/y/z, height, bits per block}, the palette as {@code int} length and
+ * UTF-8 {@link BlockData#getAsString()} entries, the chunk index as {@code chunk x, chunk z, offset} entries, and the
+ * chunks. Every chunk is its {@code min x, min z, width, depth} within the chunk, followed by the palette indexes
+ * packed into {@code long}s. Palette index {@code 0} is air, which is never written.
+ * <br><br>
+ * This generator can be used with {@link WorldBuilder} like any other generator.
+ */
+@SuppressWarnings("unused")
+public class SchematicGenerator extends VoidGenerator {
+    private static final int MAGIC = 0x4D435343;
+    private static final int VERSION = 1;
+    private static final int CHUNK_HEADER = 4;
+
+    private final MappedByteBuffer buffer;
+    private final int originX, originY, originZ;
+    private final int spawnX, spawnZ;
+    private final int height;
+    private final int bits;
+    private final int valuesPerLong;
+    private final BlockData[] palette;
+    private final Map<Long, Integer> chunks;
+
+    /**
+     * Creates a new SchematicGenerator whose chunks all use {@link Biome#THE_VOID}.
+     *
+     * @param file The schematic file
+     * @throws IOException if the file can't be read or is not a valid schematic
+     */
+    public SchematicGenerator(Path file) throws IOException {
+        this(file, Biome.THE_VOID);
+    }
+
+    /**
+     * Creates a new SchematicGenerator whose chunks all use the given biome.
+     *
+     * @param file  The schematic file
+     * @param biome The biome of every chunk
+     * @throws IOException if the file can't be read or is not a valid schematic
+     */
+    public SchematicGenerator(Path file, Biome biome) throws IOException {
+        super(biome);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC) throw new IOException("Not a schematic file.");
+            int version = buffer.getInt();
+            if (version != VERSION) throw new IOException("Unsupported schematic version: " + version);
+            originX = buffer.getInt();
+            originY = buffer.getInt();
+            originZ = buffer.getInt();
+            height = buffer.getInt();
+            bits = buffer.get();
+            valuesPerLong = 64 / bits;
+
+            palette = new BlockData[buffer.getInt()];
+            for (int i = 0; i < palette.length; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                palette[i] = Bukkit.createBlockData(new String(bytes, StandardCharsets.UTF_8));
+            }
+
+            int count = buffer.getInt();
+            chunks = new HashMap<>(count * 2);
+            int maxX = originX, maxZ = originZ;
+            for (int i = 0; i < count; i++) {
+                int chunkX = buffer.getInt();
+                int chunkZ = buffer.getInt();
+                int offset = buffer.getInt();
+                chunks.put(Chunk.getChunkKey(chunkX, chunkZ), offset);
+                maxX = Math.max(maxX, (chunkX << 4) + buffer.get(offset) + buffer.get(offset + 2) - 1);
+                maxZ = Math.max(maxZ, (chunkZ << 4) + buffer.get(offset + 1) + buffer.get(offset + 3) - 1);
+            }
+            spawnX = Math.floorDiv(originX + maxX, 2);
+            spawnZ = Math.floorDiv(originZ + maxZ, 2);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupted schematic file.", e);
+        }
+    }
+
+    @Override
+    public void generateSurface(@NotNull WorldInfo info, @NotNull Random random, int chunkX, int chunkZ, @NotNull ChunkData data) {
+        Integer offset = chunks.get(Chunk.getChunkKey(chunkX, chunkZ));
+        if (offset == null) return;
+
+        int minX = buffer.get(offset);
+        int minZ = buffer.get(offset + 1);
+        int width = buffer.get(offset + 2);
+        int depth = buffer.get(offset + 3);
+        int volume = width * depth * height;
+        long mask = (1L << bits) - 1;
+
+        int position = 0;
+        for (int word = offset + CHUNK_HEADER; position < volume; word += Long.BYTES) {
+            long value = buffer.getLong(word);
+            for (int i = 0; i < valuesPerLong && position < volume; i++, position++) {
+                int index = (int) ((value >>> (i * bits)) & mask);
+                if (index == 0) continue;
+                int x = position % width;
+                int z = (position / width) % depth;
+                int y = position / (width * depth);
+                data.setBlock(minX + x, originY + y, minZ + z, palette[index]);
+            }
+        }
+    }
+
+    /**
+     * Places the spawn on top of the highest block of the structure's center column, so players don't spawn
+     * over the void. If that column is empty, the spawn is placed at the top of the structure's bounds.
+     */
+    @Override
+    public Location getFixedSpawnLocation(@NotNull World world, @NotNull Random random) {
+        int top = height;
+        Integer offset = chunks.get(Chunk.getChunkKey(spawnX >> 4, spawnZ >> 4));
+        if (offset != null) {
+            int x = (spawnX & 15) - buffer.get(offset);
+            int z = (spawnZ & 15) - buffer.get(offset + 1);
+            int width = buffer.get(offset + 2);
+            int depth = buffer.get(offset + 3);
+            if (x >= 0 && z >= 0 && x < width && z < depth) {
+                for (int y = height - 1; y >= 0; y--) {
+                    int position = (y * depth + z) * width + x;
+                    long value = buffer.getLong(offset + CHUNK_HEADER + (position / valuesPerLong) * Long.BYTES);
+                    if (((value >>> ((position % valuesPerLong) * bits)) & ((1L << bits) - 1)) != 0) {
+                        top = y + 1;
+                        break;
+                    }
+                }
+            }
+        }
+        return new Location(world, spawnX + 0.5, originY + top, spawnZ + 0.5);
+    }
+
+    /**
+     * Gets the amount of chunks the structure covers.
+     *
+     * @return The amount of chunks stored in the schematic
+     */
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * Writes a block snapshot to a schematic file, replacing it atomically.
+     * The structure is generated at the same coordinates it was captured at.
+     *
+     * @param file     The file to write to
+     * @param snapshot The captured structure
+     * @throws IOException if the file can't be written or the structure is too large for the format
+     */
+    public static void write(Path file, BlockSnapshot snapshot) throws IOException {
+        Location min = snapshot.getMinCorner();
+        Location max = snapshot.getMaxCorner();
+        int minX = min.getBlockX(), minY = min.getBlockY(), minZ = min.getBlockZ();
+        int maxX = max.getBlockX(), maxY = max.getBlockY(), maxZ = max.getBlockZ();
+        int height = maxY - minY + 1;
+
+        Map<BlockData, Integer> palette = new LinkedHashMap<>();
+        palette.put(Material.AIR.createBlockData(), 0);
+        List<int[]> chunkIndexes = new ArrayList<>();
+        List<int[]> chunkBounds = new ArrayList<>();
+
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                int fromX = Math.max(minX, chunkX << 4), toX = Math.min(maxX, (chunkX << 4) + 15);
+                int fromZ = Math.max(minZ, chunkZ << 4), toZ = Math.min(maxZ, (chunkZ << 4) + 15);
+                int width = toX - fromX + 1, depth = toZ - fromZ + 1;
+                int[] indexes = new int[width * depth * height];
+                boolean empty = true;
+                for (int y = 0; y < height; y++) {
+                    for (int z = 0; z < depth; z++) {
+                        for (int x = 0; x < width; x++) {
+                            BlockData block = snapshot.getBlockData(fromX + x, minY + y, fromZ + z);
+                            int index = block.getMaterial().isAir() ? 0 : palette.computeIfAbsent(block, key -> palette.size());
+                            indexes[(y * depth + z) * width + x] = index;
+                            empty &= index == 0;
+                        }
+                    }
+                }
+                if (empty) continue;
+                chunkIndexes.add(indexes);
+                chunkBounds.add(new int[]{chunkX, chunkZ, fromX & 15, fromZ & 15, width, depth});
+            }
+        }
+
+        int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(palette.size() - 1));
+        int valuesPerLong = 64 / bits;
+        List<byte[]> names = new ArrayList<>(palette.size());
+        long size = 4 * 6 + 1 + 4 + 4 + chunkIndexes.size() * 12L;
+        for (BlockData block : palette.keySet()) {
+            byte[] name = block.getAsString().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            size += 4 + name.length;
+        }
+        int[] offsets = new int[chunkIndexes.size()];
+        for (int i = 0; i < chunkIndexes.size(); i++) {
+            if (size > Integer.MAX_VALUE) throw new IOException("Structure is too large for a schematic file.");
+            offsets[i] = (int) size;
+            size += CHUNK_HEADER + (long) ((chunkIndexes.get(i).length + valuesPerLong - 1) / valuesPerLong) * Long.BYTES;
+        }
+        if (size > Integer.MAX_VALUE) throw new IOException("Structure is too large for a schematic file.");
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(minX).putInt(minY).putInt(minZ).putInt(height).put((byte) bits);
+        buffer.putInt(names.size());
+        names.forEach(name -> buffer.putInt(name.length).put(name));
+        buffer.putInt(chunkIndexes.size());
+        for (int i = 0; i < chunkBounds.size(); i++) {
+            buffer.putInt(chunkBounds.get(i)[0]).putInt(chunkBounds.get(i)[1]).putInt(offsets[i]);
+        }
+        for (int i = 0; i < chunkIndexes.size(); i++) {
+            int[] bounds = chunkBounds.get(i);
+            int[] indexes = chunkIndexes.get(i);
+            buffer.put((byte) bounds[2]).put((byte) bounds[3]).put((byte) bounds[4]).put((byte) bounds[5]);
+            for (int start = 0; start < indexes.length; start += valuesPerLong) {
+                long value = 0;
+                for (int j = 0; j < valuesPerLong && start + j < indexes.length; j++) {
+                    value |= (long) indexes[start + j] << (j * bits);
+                }
+                buffer.putLong(value);
+            }
+        }
+        buffer.flip();
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -1,6 +1,10 @@
 package me.putindeer.api.util.generator;
 
+import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.generator.BiomeProvider;
 import org.bukkit.generator.ChunkGenerator;
 import org.bukkit.generator.WorldInfo;
 import org.bukkit.block.data.BlockData;
@@ -8,6 +12,7 @@ import me.putindeer.api.util.builder.WorldBuilder;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -15,18 +20,108 @@ import java.util.Random;
  * This generator creates a completely empty world with no terrain,
  * except for a single glass block at coordinates (0,64,0) in the spawn chunk.
  * <br><br>
+ * Every vanilla generation stage (noise, surface, caves, decorations, mobs and structures) is disabled,
+ * every chunk uses a single biome ({@link Biome#THE_VOID} by default), and the spawn is fixed on top of
+ * the glass block, so the server never searches for a safe spawn. Generating a void chunk does almost no work.
+ * <br><br>
+ * There is no benchmark in this repository, which has no test sources, and no numbers were recorded. To measure the
+ * generator, pregenerate the same radius with {@link me.putindeer.api.util.world.ChunkPregenerator} in a fresh world
+ * using this generator and in one using the default generator, and compare the reported chunks per second.
+ * <br><br>
  * This can be used as a starting point for custom worlds, lobbies, arenas, etc.
  * <br><br>
  * This generator can be easily integrated with {@link WorldBuilder} to streamline
  * the creation of custom void worlds within your plugin.
  */
+@SuppressWarnings("unused")
 public class VoidGenerator extends ChunkGenerator {
+    private static final BlockData GLASS = Material.GLASS.createBlockData();
+
+    private final BiomeProvider biomeProvider;
+
+    /**
+     * Creates a new VoidGenerator whose chunks all use {@link Biome#THE_VOID}.
+     */
+    public VoidGenerator() {
+        this(Biome.THE_VOID);
+    }
+
+    /**
+     * Creates a new VoidGenerator whose chunks all use the given biome.
+     *
+     * @param biome The biome of every chunk
+     */
+    public VoidGenerator(Biome biome) {
+        this.biomeProvider = new SingleBiomeProvider(biome);
+    }
+
     @Override
     public void generateSurface(@NotNull WorldInfo info, @NotNull Random random, int chunkX, int chunkZ, @NotNull ChunkData data) {
         if (chunkX == 0 && chunkZ == 0) {
-            BlockData glass = Material.GLASS.createBlockData();
-            data.setBlock(0, 64, 0, glass);
+            data.setBlock(0, 64, 0, GLASS);
         }
     }
-}
 
+    @Override
+    public BiomeProvider getDefaultBiomeProvider(@NotNull WorldInfo worldInfo) {
+        return biomeProvider;
+    }
+
+    @Override
+    public Location getFixedSpawnLocation(@NotNull World world, @NotNull Random random) {
+        return new Location(world, 0.5, 65, 0.5);
+    }
+
+    @Override
+    public boolean shouldGenerateNoise() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldGenerateSurface() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldGenerateCaves() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldGenerateDecorations() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldGenerateMobs() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldGenerateStructures() {
+        return false;
+    }
+
+    /**
+     * A {@link BiomeProvider} returning the same biome everywhere.
+     */
+    private static final class SingleBiomeProvider extends BiomeProvider {
+        private final Biome biome;
+        private final List<Biome> biomes;
+
+        private SingleBiomeProvider(Biome biome) {
+            this.biome = biome;
+            this.biomes = List.of(biome);
+        }
+
+        @Override
+        public @NotNull Biome getBiome(@NotNull WorldInfo worldInfo, int x, int y, int z) {
+            return biome;
+        }
+
+        @Override
+        public @NotNull List<Biome> getBiomes(@NotNull WorldInfo worldInfo) {
+            return biomes;
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package me.putindeer.api.util.inventory;
+
+import io.papermc.paper.event.player.PlayerInventorySlotChangeEvent;
+import me.putindeer.api.util.PluginUtils;
+import me.putindeer.api.util.item.ItemFingerprint;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.EntityShootBowEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.entity.ProjectileLaunchEvent;
+import org.bukkit.event.inventory.*;
+import org.bukkit.event.player.*;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.*;
+
+/**
+ * An optional per-player index of the storage contents (the 36 main slots) of tracked players.
+ * <br><br>
+ * The index keeps item counts per material and per {@link ItemFingerprint}, the amount of free slots and the
+ * free space in partial stacks, so storage and counting queries are map lookups instead of inventory scans.
+ * <br><br>
+ * Inventory events mark the affected slots as dirty, both when they fire and one tick later, once the change
+ * has been applied. Only dirty slots are re-read before answering a query. Direct writes by plugins (for example
+ * {@code Inventory#addItem}) are picked up from Paper's {@link PlayerInventorySlotChangeEvent}, which only fires once
+ * the server syncs the slot to the client, so plugins that query right after writing should still call
+ * {@link #invalidate(Player)}.
+ * <br><br>
+ * When debug mode is enabled in {@link PluginUtils}, every query verifies the index slot by slot against the real
+ * inventory and logs a warning if they differ.
+ */
+@SuppressWarnings("unused")
+public class InventoryIndex implements Listener {
+    private static final int STORAGE_SIZE = 36;
+
+    private final PluginUtils utils;
+    private final Map<UUID, Index> indexes = new HashMap<>();
+
+    /**
+     * Creates a new InventoryIndex instance and registers its listener.
+     *
+     * @param utils PluginUtils instance used to register the listener and log warnings
+     */
+    public InventoryIndex(PluginUtils utils) {
+        this.utils = utils;
+        Bukkit.getPluginManager().registerEvents(this, utils.plugin);
+    }
+
+    /**
+     * Starts tracking a player, building their index from scratch.
+     *
+     * @param player The player to track
+     */
+    public void track(Player player) {
+        Index index = new Index();
+        index.dirty.set(0, STORAGE_SIZE);
+        indexes.put(player.getUniqueId(), index);
+    }
+
+    /**
+     * Stops tracking a player. Players are untracked automatically when they quit.
+     *
+     * @param player The player to stop tracking
+     */
+    public void untrack(Player player) {
+        indexes.remove(player.getUniqueId());
+    }
+
+    /**
+     * Marks every slot of a tracked player as dirty, for changes made without firing an inventory event.
+     *
+     * @param player The player whose inventory changed
+     */
+    public void invalidate(Player player) {
+        Index index = indexes.get(player.getUniqueId());
+        if (index != null) index.dirty.set(0, STORAGE_SIZE);
+    }
+
+    /**
+     * Stops tracking every player and unregisters the listener.
+     */
+    public void close() {
+        indexes.clear();
+        HandlerList.unregisterAll(this);
+    }
+
+    //region [Queries]
+    /**
+     * Gets the total amount of a material in a player's storage contents.
+     *
+     * @param player   The player to check
+     * @param material The material to count
+     * @return The total amount of the material
+     */
+    public int getMaterialAmount(Player player, Material material) {
+        return index(player).materials.getOrDefault(material, 0);
+    }
+
+    /**
+     * Gets the total amount of items similar to the given one in a player's storage contents.
+     *
+     * @param player The player to check
+     * @param item   The item to count
+     * @return The total amount of similar items
+     */
+    public int getAmount(Player player, ItemStack item) {
+        Index index = index(player);
+        long fingerprint = ItemFingerprint.of(item);
+        Tally tally = index.tallies.get(fingerprint);
+        if (tally == null) return 0;
+        if (!tally.ambiguous) return tally.representative.isSimilar(item) ? tally.amount : 0;
+
+        int amount = 0;
+        for (Slot slot : index.slots) {
+            if (slot != null && slot.fingerprint == fingerprint && slot.single.isSimilar(item)) amount += slot.amount;
+        }
+        return amount;
+    }
+
+    /**
+     * Gets the amount of empty storage slots of a player.
+     *
+     * @param player The player to check
+     * @return The amount of empty slots
+     */
+    public int getFreeSlots(Player player) {
+        return index(player).freeSlots;
+    }
+
+    /**
+     * Checks if a player's storage contents have enough space for an item,
+     * counting both empty slots and free space in similar partial stacks.
+     *
+     * @param player The player to check
+     * @param item   The item to be added
+     * @return {@code true} if the item can be completely stored
+     */
+    public boolean canCompletelyStore(Player player, ItemStack item) {
+        Index index = index(player);
+        int space = index.freeSlots * item.getMaxStackSize();
+        if (space >= item.getAmount()) return true;
+
+        long fingerprint = ItemFingerprint.of(item);
+        Tally tally = index.tallies.get(fingerprint);
+        if (tally == null) return false;
+        if (!tally.ambiguous) return tally.representative.isSimilar(item) && space + tally.space >= item.getAmount();
+
+        for (Slot slot : index.slots) {
+            if (slot != null && slot.fingerprint == fingerprint && slot.single.isSimilar(item)) space += slot.space;
+        }
+        return space >= item.getAmount();
+    }
+
+    /**
+     * Checks the index of a player against their real inventory and rebuilds it if they differ.
+     *
+     * @param player The player to check
+     * @return {@code true} if the index was consistent
+     */
+    public boolean verify(Player player) {
+        Index index = indexes.get(player.getUniqueId());
+        if (index == null) return true;
+        refresh(player, index);
+
+        Index fresh = new Index();
+        fresh.dirty.set(0, STORAGE_SIZE);
+        refresh(player, fresh);
+
+        if (index.freeSlots == fresh.freeSlots && index.materials.equals(fresh.materials) && sameSlots(index, fresh)) return true;
+        utils.warning("Inventory index of " + player.getName() + " was out of sync and has been rebuilt."
+                + " A plugin may be changing inventories without calling InventoryIndex#invalidate.");
+        indexes.put(player.getUniqueId(), fresh);
+        return false;
+    }
+    //endregion
+
+    private static boolean sameSlots(Index index, Index fresh) {
+        for (int i = 0; i < STORAGE_SIZE; i++) {
+            Slot slot = index.slots[i];
+            Slot real = fresh.slots[i];
+            if (slot == null || real == null) {
+                if (slot != real) return false;
+                continue;
+            }
+            if (slot.fingerprint != real.fingerprint || slot.amount != real.amount || !slot.single.isSimilar(real.single)) return false;
+        }
+        return true;
+    }
+
+    private Index index(Player player) {
+        if (!indexes.containsKey(player.getUniqueId())) {
+            throw new IllegalStateException(player.getName() + " is not tracked by this InventoryIndex.");
+        }
+        if (utils.debug) verify(player);
+        Index index = indexes.get(player.getUniqueId());
+        refresh(player, index);
+        return index;
+    }
+
+    private void refresh(Player player, Index index) {
+        if (index.dirty.isEmpty()) return;
+        PlayerInventory inventory = player.getInventory();
+        for (int i = index.dirty.nextSetBit(0); i >= 0; i = index.dirty.nextSetBit(i + 1)) {
+            index.remove(index.slots[i]);
+            index.slots[i] = Slot.of(inventory.getItem(i));
+            index.add(index.slots[i]);
+        }
+        index.dirty.clear();
+    }
+
+    //region [Events]
+    private void markDirty(Player player, int... slots) {
+        Index index = indexes.get(player.getUniqueId());
+        if (index == null) return;
+        mark(index, slots);
+        Bukkit.getScheduler().runTask(utils.plugin, () -> mark(index, slots));
+    }
+
+    private void markAllDirty(Player player) {
+        markDirty(player);
+    }
+
+    private static void mark(Index index, int... slots) {
+        if (slots.length == 0) {
+            index.dirty.set(0, STORAGE_SIZE);
+            return;
+        }
+        for (int slot : slots) {
+            if (slot >= 0 && slot < STORAGE_SIZE) index.dirty.set(slot);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onClick(InventoryClickEvent event) {
+        if (!(event.getWhoClicked() instanceof Player player)) return;
+        boolean own = event.getClickedInventory() == player.getInventory();
+        switch (event.getAction()) {
+            case PICKUP_ALL, PICKUP_HALF, PICKUP_ONE, PICKUP_SOME, PLACE_ALL, PLACE_ONE, PLACE_SOME, SWAP_WITH_CURSOR,
+                 DROP_ALL_SLOT, DROP_ONE_SLOT -> {
+                if (own) markDirty(player, event.getSlot());
+            }
+            case HOTBAR_SWAP -> {
+                if (own) markDirty(player, event.getSlot(), event.getHotbarButton());
+                else markDirty(player, event.getHotbarButton());
+            }
+            case NOTHING, DROP_ALL_CURSOR, DROP_ONE_CURSOR, CLONE_STACK -> {
+            }
+            default -> markAllDirty(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDrag(InventoryDragEvent event) {
+        if (!(event.getWhoClicked() instanceof Player player)) return;
+        InventoryView view = event.getView();
+        int[] slots = event.getRawSlots().stream()
+                .filter(raw -> view.getInventory(raw) == player.getInventory())
+                .mapToInt(view::convertSlot)
+                .toArray();
+        if (slots.length > 0) markDirty(player, slots);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player player) markAllDirty(player);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDrop(PlayerDropItemEvent event) {
+        markAllDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onConsume(PlayerItemConsumeEvent event) {
+        markDirty(event.getPlayer(), event.getPlayer().getInventory().getHeldItemSlot());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlace(BlockPlaceEvent event) {
+        markDirty(event.getPlayer(), event.getPlayer().getInventory().getHeldItemSlot());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onShootBow(EntityShootBowEvent event) {
+        if (event.getEntity() instanceof Player player) markAllDirty(player);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLaunch(ProjectileLaunchEvent event) {
+        if (event.getEntity().getShooter() instanceof Player player) markDirty(player, player.getInventory().getHeldItemSlot());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketFill(PlayerBucketFillEvent event) {
+        markAllDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketEmpty(PlayerBucketEmptyEvent event) {
+        markAllDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        markDirty(event.getPlayer(), event.getPlayer().getInventory().getHeldItemSlot());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemDamage(PlayerItemDamageEvent event) {
+        markAllDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemMend(PlayerItemMendEvent event) {
+        markAllDirty(event.getPlayer());
+    }
+
+    /**
+     * Fired by Paper after any slot of a player inventory changed, including direct writes by plugins.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onSlotChange(PlayerInventorySlotChangeEvent event) {
+        Index index = indexes.get(event.getPlayer().getUniqueId());
+        if (index != null) mark(index, event.getSlot());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onBreak(PlayerItemBreakEvent event) {
+        markAllDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onClose(InventoryCloseEvent event) {
+        if (event.getPlayer() instanceof Player player) markAllDirty(player);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(PlayerDeathEvent event) {
+        markAllDirty(event.getEntity());
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        untrack(event.getPlayer());
+    }
+    //endregion
+
+    private record Slot(Material type, int amount, int space, long fingerprint, ItemStack single) {
+        static Slot of(ItemStack item) {
+            if (item == null || item.isEmpty()) return null;
+            return new Slot(item.getType(), item.getAmount(), Math.max(0, item.getMaxStackSize() - item.getAmount()),
+                    ItemFingerprint.of(item), item.asOne());
+        }
+    }
+
+    private static final class Tally {
+        private final ItemStack representative;
+        private int amount;
+        private int space;
+        private int stacks;
+        private boolean ambiguous;
+
+        private Tally(ItemStack representative) {
+            this.representative = representative;
+        }
+    }
+
+    private static final class Index {
+        private final Slot[] slots = new Slot[STORAGE_SIZE];
+        private final Map<Material, Integer> materials = new EnumMap<>(Material.class);
+        private final Map<Long, Tally> tallies = new HashMap<>();
+        private final BitSet dirty = new BitSet(STORAGE_SIZE);
+        private int freeSlots = STORAGE_SIZE;
+
+        private void add(Slot slot) {
+            if (slot == null) return;
+            freeSlots--;
+            materials.merge(slot.type, slot.amount, Integer::sum);
+            Tally tally = tallies.computeIfAbsent(slot.fingerprint, fingerprint -> new Tally(slot.single));
+            if (tally.stacks > 0 && !tally.ambiguous && !tally.representative.isSimilar(slot.single)) tally.ambiguous = true;
+            tally.amount += slot.amount;
+            tally.space += slot.space;
+            tally.stacks++;
+        }
+
+        private void remove(Slot slot) {
+            if (slot == null) return;
+            freeSlots++;
+            materials.computeIfPresent(slot.type, (type, amount) -> amount == slot.amount ? null : amount - slot.amount);
+            Tally tally = tallies.get(slot.fingerprint);
+            if (tally == null) return;
+            tally.amount -= slot.amount;
+            tally.space -= slot.space;
+            if (--tally.stacks == 0) tallies.remove(slot.fingerprint);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package me.putindeer.api.util.inventory;
+
+import me.putindeer.api.util.item.ItemFingerprint;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.*;
+
+/**
+ * The result of simulating the storage of a batch of items in an inventory.
+ * <br><br>
+ * The simulation places the whole batch in one pass over the storage slots, following the same order as
+ * {@link Inventory#addItem(ItemStack...)}: partial similar stacks first, then empty slots. Slots taken by earlier
+ * items of the batch are accounted for, so the plan is exact.
+ * <br><br>
+ * The plan can be applied directly with {@link #apply(Inventory)}, which only writes the changed slots.
+ * It is only valid as long as the inventory is not modified between planning and applying.
+ */
+@SuppressWarnings("unused")
+public final class StoragePlan {
+    private final Map<Integer, ItemStack> changes;
+    private final List<ItemStack> overflow;
+
+    private StoragePlan(Map<Integer, ItemStack> changes, List<ItemStack> overflow) {
+        this.changes = changes;
+        this.overflow = overflow;
+    }
+
+    /**
+     * Simulates storing a batch of items in an inventory's storage slots.
+     *
+     * @param inv   The inventory the items would be added to
+     * @param items The items to store, {@code null} and empty items are ignored
+     * @return The resulting plan
+     */
+    public static StoragePlan plan(Inventory inv, Collection<ItemStack> items) {
+        ItemStack[] contents = inv.getStorageContents();
+        long[] fingerprints = new long[contents.length];
+        for (int i = 0; i < contents.length; i++) {
+            fingerprints[i] = ItemFingerprint.of(contents[i]);
+        }
+
+        Map<Integer, ItemStack> changes = new TreeMap<>();
+        List<ItemStack> overflow = new ArrayList<>();
+        for (ItemStack item : items) {
+            if (item == null || item.isEmpty()) continue;
+            int maxStack = Math.min(item.getMaxStackSize(), inv.getMaxStackSize());
+            long fingerprint = ItemFingerprint.of(item);
+            int remaining = item.getAmount();
+
+            for (int i = 0; i < contents.length && remaining > 0; i++) {
+                ItemStack stack = contents[i];
+                if (stack == null || stack.isEmpty() || fingerprints[i] != fingerprint || stack.getAmount() >= maxStack) continue;
+                if (!stack.isSimilar(item)) continue;
+                int added = Math.min(remaining, maxStack - stack.getAmount());
+                ItemStack updated = stack.clone();
+                updated.setAmount(stack.getAmount() + added);
+                contents[i] = updated;
+                changes.put(i, updated);
+                remaining -= added;
+            }
+
+            for (int i = 0; i < contents.length && remaining > 0; i++) {
+                if (contents[i] != null && !contents[i].isEmpty()) continue;
+                int added = Math.min(remaining, maxStack);
+                ItemStack placed = item.asQuantity(added);
+                contents[i] = placed;
+                fingerprints[i] = fingerprint;
+                changes.put(i, placed);
+                remaining -= added;
+            }
+
+            if (remaining > 0) overflow.add(item.asQuantity(remaining));
+        }
+        return new StoragePlan(changes, overflow);
+    }
+
+    /**
+     * Checks if the whole batch fits.
+     *
+     * @return {@code true} if nothing overflows
+     */
+    public boolean fitsAll() {
+        return overflow.isEmpty();
+    }
+
+    /**
+     * Gets the new contents of every slot changed by the plan.
+     *
+     * @return An unmodifiable map of storage slot indexes to their new stack
+     */
+    public Map<Integer, ItemStack> getChanges() {
+        return Collections.unmodifiableMap(changes);
+    }
+
+    /**
+     * Gets the items that don't fit, one stack per item of the batch that overflowed.
+     *
+     * @return An unmodifiable list of the overflowing items
+     */
+    public List<ItemStack> getOverflow() {
+        return Collections.unmodifiableList(overflow);
+    }
+
+    /**
+     * Writes the planned slots to the inventory. Overflowing items are not handled.
+     *
+     * @param inv The inventory the plan was made for
+     */
+    public void apply(Inventory inv) {
+        changes.forEach(inv::setItem);
+    }
+}
@@ -0,0 +1,163 @@
+package me.putindeer.api.util.item;
+
+import me.putindeer.api.util.PluginUtils;
+import me.putindeer.api.util.builder.ItemBuilder;
+import me.putindeer.api.util.builder.ItemTemplate;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compiles many {@link ItemBuilder} recipes at once, typically during {@code onEnable}.
+ * <br><br>
+ * Recipes run in parallel on an executor, which is where the expensive work happens: MiniMessage parsing
+ * of names and lore, profile lookups and enchantment map assembly. Recipes added with a {@link Material}
+ * get a {@link ItemBuilder#staged() staged} builder, so the parallel phase only produces parsed components and
+ * staged values. Nothing is written to the stacks until the results are assembled into {@link ItemTemplate}s
+ * on the calling thread, where every component is written once.
+ * <br><br>
+ * The time spent on each recipe is recorded, so slow definitions can be found with {@link Result#logTimings(int)}.
+ * <p>
+ * Usage example:
+ * <pre>
+ * {@code
+ * ItemBatch.Result kits = new ItemBatch(utils)
+ *     .add("sword", Material.DIAMOND_SWORD, b -> b.name("<red>Sword").enchant(Enchantment.SHARPNESS, 5))
+ *     .add("ghead", () -> utils.goldenHeadTexture().staged().name("Golden Head"))
+ *     .compile();
+ * kits.logTimings(5);
+ * }
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public class ItemBatch {
+    private final PluginUtils utils;
+    private final Map<String, Supplier<ItemBuilder>> recipes = new LinkedHashMap<>();
+
+    /**
+     * Creates a new ItemBatch instance.
+     *
+     * @param utils PluginUtils instance used to create builders and log errors
+     */
+    public ItemBatch(PluginUtils utils) {
+        this.utils = utils;
+    }
+
+    /**
+     * Adds a recipe that creates its own builder.
+     * Recipes should call {@link ItemBuilder#staged()} before any other setter, so none of their writes happen
+     * on the executor and all of them are deferred to the assembly step.
+     *
+     * @param id     The id of the resulting template
+     * @param recipe The recipe creating the builder
+     * @return This batch instance for chaining
+     */
+    public ItemBatch add(String id, Supplier<ItemBuilder> recipe) {
+        recipes.put(id, recipe);
+        return this;
+    }
+
+    /**
+     * Adds a recipe applied to a new staged builder of the given material.
+     *
+     * @param id       The id of the resulting template
+     * @param material The material of the item
+     * @param recipe   The recipe applied to the builder
+     * @return This batch instance for chaining
+     */
+    public ItemBatch add(String id, Material material, UnaryOperator<ItemBuilder> recipe) {
+        return add(id, () -> recipe.apply(utils.ib(material).staged()));
+    }
+
+    /**
+     * Runs every recipe in parallel on the common pool and assembles the templates on the calling thread.
+     *
+     * @return The compiled templates and per-recipe timings
+     */
+    public Result compile() {
+        return compile(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs every recipe in parallel on the given executor and assembles the templates on the calling thread.
+     * Recipes that throw are skipped with a warning.
+     *
+     * @param executor The executor to run the recipes on
+     * @return The compiled templates and per-recipe timings
+     */
+    public Result compile(Executor executor) {
+        Map<String, CompletableFuture<Prepared>> futures = new LinkedHashMap<>();
+        recipes.forEach((id, recipe) -> futures.put(id, CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            ItemBuilder builder = recipe.get();
+            return new Prepared(builder, System.nanoTime() - start);
+        }, executor)));
+
+        Map<String, ItemTemplate> templates = new LinkedHashMap<>();
+        Map<String, Long> timings = new LinkedHashMap<>();
+        futures.forEach((id, future) -> {
+            try {
+                Prepared prepared = future.join();
+                long start = System.nanoTime();
+                templates.put(id, prepared.builder().compile());
+                timings.put(id, prepared.nanos() + System.nanoTime() - start);
+            } catch (RuntimeException e) {
+                utils.warning("Could not compile item '" + id + "': " + e.getMessage());
+            }
+        });
+        return new Result(utils, Collections.unmodifiableMap(templates), Collections.unmodifiableMap(timings));
+    }
+
+    private record Prepared(ItemBuilder builder, long nanos) {
+    }
+
+    /**
+     * The result of a batch compilation.
+     *
+     * @param utils     PluginUtils instance used to log timings
+     * @param templates The compiled templates by id, in the order their recipes were added
+     * @param timings   The time spent on each recipe by id, in nanoseconds
+     */
+    public record Result(PluginUtils utils, Map<String, ItemTemplate> templates, Map<String, Long> timings) {
+        /**
+         * Gets a compiled template.
+         *
+         * @param id The recipe id
+         * @return The {@link ItemTemplate}, or {@code null} if the recipe failed or doesn't exist
+         */
+        public ItemTemplate get(String id) {
+            return templates.get(id);
+        }
+
+        /**
+         * Creates a new item from a compiled template.
+         *
+         * @param id The recipe id
+         * @return A new {@link ItemStack}, or {@code null} if the recipe failed or doesn't exist
+         */
+        public ItemStack create(String id) {
+            ItemTemplate template = templates.get(id);
+            return template == null ? null : template.create();
+        }
+
+        /**
+         * Logs the total compilation time and the slowest recipes to the console.
+         *
+         * @param top The amount of slowest recipes to log
+         */
+        public void logTimings(int top) {
+            long total = timings.values().stream().mapToLong(Long::longValue).sum();
+            utils.log("Compiled " + templates.size() + " items in " + String.format("%.2f", total / 1_000_000.0) + "ms of work.");
+            timings.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(top)
+                    .forEach(entry -> utils.log(" - " + entry.getKey() + ": " + String.format("%.2f", entry.getValue() / 1_000_000.0) + "ms"));
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package me.putindeer.api.util.item;
+
+import io.papermc.paper.datacomponent.DataComponentType;
+import io.papermc.paper.datacomponent.item.consumable.ItemUseAnimation;
+import io.papermc.paper.registry.RegistryAccess;
+import io.papermc.paper.registry.RegistryKey;
+import me.putindeer.api.util.PluginUtils;
+import me.putindeer.api.util.builder.ItemBuilder;
+import me.putindeer.api.util.builder.ItemTemplate;
+import net.kyori.adventure.key.Key;
+import org.bukkit.Bukkit;
+import org.bukkit.Color;
+import org.bukkit.DyeColor;
+import org.bukkit.FireworkEffect;
+import org.bukkit.Material;
+import org.bukkit.block.banner.Pattern;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemRarity;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Loads item definitions from YAML files into precompiled {@link ItemTemplate}s, with optional hot reload.
+ * <br><br>
+ * Every {@code .yml} file in the folder is parsed in parallel, off the main thread. Each top-level key of a
+ * file is one definition, mapped onto the {@link ItemBuilder} methods:
+ * <pre>
+ * {@code
+ * golden_head:
+ *   material: GOLDEN_APPLE
+ *   name: "Golden Head"
+ *   lore: ["<blue>Absorption (02:00)", "<gray>Cooldown:<yellow> 10 seconds"]
+ *   rarity: RARE
+ *   texture: "e3RleHR1cmVz..."
+ *   model: minecraft:player_head
+ *   enchants: {sharpness: 5}
+ *   food: {nutrition: 4, saturation: 9.6, can-always-eat: true}
+ *   cooldown: {seconds: 10, group: ghead}
+ *   consumable:
+ *     seconds: 1
+ *     animation: EAT
+ *     sound: entity.generic.eat
+ *     particles: false
+ *     effects: [{type: absorption, duration: 2400, amplifier: 0}]
+ * }
+ * </pre>
+ * Supported keys: {@code material, amount, name, custom-name, lore, enchants, glint, unbreakable, rarity, model,
+ * texture, color, durability, durability-percentage, max-durability, max-stack-size, hide, hide-tooltip, food,
+ * cooldown, consumable, death-protection, break-sound, damage-resistant, potion, firework, patterns, contents,
+ * charged-projectile}.
+ * <pre>
+ * {@code
+ * potion: {type: strong_swiftness, color: "#33ebff", effects: [{type: speed, duration: 600}]}
+ * firework: {power: 2, effects: [{type: BALL_LARGE, colors: ["#ff0000", "#ffffff"]}]}
+ * patterns: [{pattern: stripe_top, color: RED}]
+ * contents: [DIAMOND_SWORD, "ARROW:16"]
+ * damage-resistant: minecraft:is_fire
+ * }
+ * </pre>
+ * A file that fails to parse, such as one caught half-written by the watcher, is reported and keeps its previous definitions.
+ * Each id belongs to the first file that defines it: the same id in another file is reported and ignored, and
+ * removing an id from a file never removes a definition owned by another one.
+ * <br><br>
+ * When {@link #watch()} is called, the folder is watched with a {@link WatchService}. Changed files are re-parsed
+ * on the watcher thread, and only the definitions whose values actually changed are recompiled and swapped.
+ * Reload listeners are called on the main thread with the ids that changed.
+ */
+@SuppressWarnings({"unused", "UnstableApiUsage"})
+public class ItemDefinitionLoader implements AutoCloseable {
+    private final PluginUtils utils;
+    private final Path folder;
+    private final Map<String, ItemTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<Path, Map<String, Map<String, Object>>> sources = new ConcurrentHashMap<>();
+    private final Map<String, Path> owners = new ConcurrentHashMap<>();
+    private final List<Consumer<Set<String>>> listeners = new CopyOnWriteArrayList<>();
+    private Thread watcher;
+    private WatchService watchService;
+
+    /**
+     * Creates a new ItemDefinitionLoader instance.
+     *
+     * @param utils  PluginUtils instance used to build the items
+     * @param folder The folder containing the {@code .yml} definition files
+     */
+    public ItemDefinitionLoader(PluginUtils utils, Path folder) {
+        this.utils = utils;
+        this.folder = folder;
+    }
+
+    /**
+     * Parses and compiles every definition file in parallel, off the main thread.
+     *
+     * @return A future completed once every file has been loaded
+     */
+    public CompletableFuture<Void> load() {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(folder)) {
+            files = stream.filter(ItemDefinitionLoader::isDefinitionFile).toList();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return CompletableFuture.allOf(files.stream()
+                .map(file -> CompletableFuture.runAsync(() -> reload(file)))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Gets a compiled definition.
+     *
+     * @param id The definition id (its top-level key)
+     * @return The {@link ItemTemplate}, or {@code null} if there is no such definition
+     */
+    public ItemTemplate get(String id) {
+        return templates.get(id);
+    }
+
+    /**
+     * Creates a new item from a compiled definition.
+     *
+     * @param id The definition id (its top-level key)
+     * @return A new {@link ItemStack}, or {@code null} if there is no such definition
+     */
+    public ItemStack create(String id) {
+        ItemTemplate template = templates.get(id);
+        return template == null ? null : template.create();
+    }
+
+    /**
+     * Gets the ids of every loaded definition.
+     *
+     * @return An unmodifiable view of the loaded ids
+     */
+    public Set<String> ids() {
+        return Collections.unmodifiableSet(templates.keySet());
+    }
+
+    /**
+     * Registers a listener called on the main thread after a hot reload, with the ids that were added, changed or removed.
+     *
+     * @param listener The listener to register
+     * @return This loader instance for chaining
+     */
+    public ItemDefinitionLoader onReload(Consumer<Set<String>> listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Starts watching the folder for changes on a daemon thread.
+     *
+     * @throws IOException if the folder can't be watched
+     */
+    public void watch() throws IOException {
+        if (watcher != null) return;
+        watchService = folder.getFileSystem().newWatchService();
+        folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+        watcher = new Thread(this::watchLoop, utils.plugin.getName() + "-item-definitions");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stops watching the folder.
+     */
+    @Override
+    public void close() {
+        if (watcher == null) return;
+        watcher.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+        watcher = null;
+    }
+
+    private void watchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            Set<Path> changed = new HashSet<>();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.context() instanceof Path path && isDefinitionFile(path)) {
+                    changed.add(folder.resolve(path));
+                }
+            }
+            key.reset();
+
+            Set<String> ids = new HashSet<>();
+            changed.forEach(file -> ids.addAll(reload(file)));
+            if (!ids.isEmpty() && !listeners.isEmpty()) {
+                Bukkit.getScheduler().runTask(utils.plugin, () -> listeners.forEach(listener -> listener.accept(ids)));
+            }
+        }
+    }
+
+    /**
+     * Re-parses a single file and recompiles only the definitions that changed.
+     *
+     * @param file The definition file
+     * @return The ids that were added, changed or removed
+     */
+    private Set<String> reload(Path file) {
+        Map<String, Map<String, Object>> previous = sources.getOrDefault(file, Map.of());
+        Map<String, Map<String, Object>> current = new HashMap<>();
+
+        if (Files.exists(file)) {
+            YamlConfiguration config = new YamlConfiguration();
+            try {
+                config.load(file.toFile());
+            } catch (IOException | InvalidConfigurationException e) {
+                utils.warning("Could not parse " + file.getFileName() + ", keeping its previous definitions: " + e.getMessage());
+                return Set.of();
+            }
+            for (String id : config.getKeys(false)) {
+                ConfigurationSection section = config.getConfigurationSection(id);
+                if (section == null) continue;
+                Path owner = owners.putIfAbsent(id, file);
+                if (owner != null && !owner.equals(file)) {
+                    utils.warning("Ignoring item definition '" + id + "' in " + file.getFileName() + ", it is already defined in " + owner.getFileName() + ".");
+                    continue;
+                }
+                current.put(id, toMap(section));
+            }
+        }
+
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, Map<String, Object>> entry : current.entrySet()) {
+            String id = entry.getKey();
+            if (entry.getValue().equals(previous.get(id))) continue;
+            try {
+                templates.put(id, compile(entry.getValue()));
+                changed.add(id);
+            } catch (RuntimeException e) {
+                utils.warning("Could not load item definition '" + id + "' from " + file.getFileName() + ": " + e.getMessage());
+            }
+        }
+        for (String id : previous.keySet()) {
+            if (!current.containsKey(id) && owners.remove(id, file)) {
+                templates.remove(id);
+                changed.add(id);
+            }
+        }
+
+        if (current.isEmpty()) sources.remove(file);
+        else sources.put(file, current);
+        return changed;
+    }
+
+    private ItemTemplate compile(Map<String, Object> definition) {
+        Material material = Material.matchMaterial(string(definition, "material"));
+        if (material == null) throw new IllegalArgumentException("Unknown material: " + definition.get("material"));
+
+        ItemBuilder builder = utils.ib(material, number(definition, "amount", 1).intValue()).staged();
+
+        if (definition.get("name") instanceof String name) builder.name(name);
+        if (definition.get("custom-name") instanceof String customName) builder.customName(customName);
+        if (definition.get("lore") instanceof List<?> lore) builder.lore(lore.stream().map(String::valueOf).toList());
+        if (definition.get("enchants") instanceof Map<?, ?> enchants) {
+            enchants.forEach((key, level) -> builder.enchant(registryValue(RegistryKey.ENCHANTMENT, key), ((Number) level).intValue()));
+        }
+        if (definition.get("glint") instanceof Boolean glint) builder.glintIf(glint);
+        if (Boolean.TRUE.equals(definition.get("unbreakable"))) builder.unbreakable();
+        if (definition.get("rarity") instanceof String rarity) builder.rarity(ItemRarity.valueOf(rarity.toUpperCase(Locale.ROOT)));
+        if (definition.get("texture") instanceof String texture) builder.profileTexture(texture);
+        if (definition.get("model") instanceof String model) builder.model(Key.key(model));
+        if (definition.get("color") != null) builder.color(color(definition.get("color")));
+        if (definition.get("max-durability") instanceof Number maxDurability) builder.maxDurability(maxDurability.intValue());
+        if (definition.get("durability") instanceof Number durability) builder.durability(durability.intValue());
+        if (definition.get("durability-percentage") instanceof Number percentage) builder.durabilityPercentage(percentage.floatValue());
+        if (definition.get("max-stack-size") instanceof Number stackSize) builder.maxStackSize(stackSize.intValue());
+        if (definition.get("hide") instanceof List<?> hidden) {
+            builder.hide(hidden.stream().map(key -> registryValue(RegistryKey.DATA_COMPONENT_TYPE, key)).toArray(DataComponentType[]::new));
+        }
+        if (Boolean.TRUE.equals(definition.get("hide-tooltip"))) builder.hideTooltip();
+        if (definition.get("break-sound") instanceof String sound) builder.breakSound(Key.key(sound));
+        if (definition.get("damage-resistant") instanceof String damageType) builder.damageResistant(Key.key(damageType));
+        if (definition.get("charged-projectile") instanceof String projectile) builder.chargedProjectiles(stack(projectile));
+        if (definition.get("contents") instanceof List<?> contents) {
+            builder.setContents(contents.stream().map(entry -> stack(String.valueOf(entry))).toList());
+        }
+
+        if (definition.get("potion") instanceof Map<?, ?> potion) {
+            if (potion.get("type") != null) builder.potionType(registryValue(RegistryKey.POTION, potion.get("type")));
+            if (potion.get("color") != null) builder.potionColor(color(potion.get("color")));
+            if (potion.get("effects") instanceof List<?> effects) builder.potionEffect(effects(effects));
+        }
+        if (definition.get("firework") instanceof Map<?, ?> firework) {
+            if (firework.get("power") instanceof Number power) builder.fireworkPower(power.intValue());
+            if (firework.get("effects") instanceof List<?> effects) {
+                for (Object entry : effects) {
+                    Map<?, ?> effect = (Map<?, ?>) entry;
+                    FireworkEffect.Type type = FireworkEffect.Type.valueOf(string(effect, "type").toUpperCase(Locale.ROOT));
+                    Color[] colors = effect.get("colors") instanceof List<?> list
+                            ? list.stream().map(ItemDefinitionLoader::color).toArray(Color[]::new)
+                            : new Color[]{Color.WHITE};
+                    builder.fireworkEffect(type, number(effect, "amount", 1).intValue(), colors);
+                }
+            }
+        }
+        if (definition.get("patterns") instanceof List<?> patterns) {
+            builder.pattern(patterns.stream().map(entry -> {
+                Map<?, ?> pattern = (Map<?, ?>) entry;
+                DyeColor color = DyeColor.valueOf(string(pattern, "color").toUpperCase(Locale.ROOT));
+                return new Pattern(color, registryValue(RegistryKey.BANNER_PATTERN, pattern.get("pattern")));
+            }).toArray(Pattern[]::new));
+        }
+
+        if (definition.get("food") instanceof Map<?, ?> food) {
+            builder.food(number(food, "nutrition", 0).intValue(), number(food, "saturation", 0).floatValue(),
+                    Boolean.TRUE.equals(food.get("can-always-eat")));
+        }
+        if (definition.get("cooldown") instanceof Map<?, ?> cooldown) {
+            int seconds = number(cooldown, "seconds", 0).intValue();
+            if (cooldown.get("group") instanceof String group) builder.useCooldown(seconds, group);
+            else builder.useCooldown(seconds);
+        }
+        if (definition.get("consumable") instanceof Map<?, ?> consumable) {
+            if (consumable.get("seconds") instanceof Number seconds) builder.consumeSeconds(seconds.floatValue());
+            if (consumable.get("animation") instanceof String animation) builder.consumeAnimation(ItemUseAnimation.valueOf(animation.toUpperCase(Locale.ROOT)));
+            if (consumable.get("sound") instanceof String sound) builder.consumingSound(Key.key(sound));
+            if (consumable.get("particles") instanceof Boolean particles) builder.consumeParticles(particles);
+            if (consumable.get("effects") instanceof List<?> effects) builder.consumeApplyEffects(effects(effects));
+            if (consumable.get("remove-effects") instanceof List<?> remove) builder.consumeRemoveEffects(effectTypes(remove));
+            if (Boolean.TRUE.equals(consumable.get("clear-effects"))) builder.consumeClearAllEffects();
+            if (consumable.get("teleport-randomly") instanceof Number range) builder.consumeTeleportRandomly(range.floatValue());
+            if (consumable.get("play-sound") instanceof String sound) builder.consumePlaySound(Key.key(sound));
+        }
+        if (definition.get("death-protection") instanceof Map<?, ?> deathProtection) {
+            builder.deathProtection();
+            if (Boolean.TRUE.equals(deathProtection.get("clear-effects"))) builder.deathProtectionClearAllEffects();
+            if (deathProtection.get("effects") instanceof List<?> effects) builder.deathProtectionApplyEffects(effects(effects));
+            if (deathProtection.get("remove-effects") instanceof List<?> remove) builder.deathProtectionRemoveEffects(effectTypes(remove));
+            if (deathProtection.get("play-sound") instanceof String sound) builder.deathProtectionPlaySound(Key.key(sound));
+            if (Boolean.TRUE.equals(deathProtection.get("totem"))) builder.deathProtectionAsTotem();
+        } else if (Boolean.TRUE.equals(definition.get("death-protection"))) {
+            builder.deathProtection();
+        }
+
+        return builder.compile();
+    }
+
+    private PotionEffect[] effects(List<?> list) {
+        return list.stream().map(entry -> {
+            Map<?, ?> effect = (Map<?, ?>) entry;
+            PotionEffectType type = registryValue(RegistryKey.MOB_EFFECT, effect.get("type"));
+            return new PotionEffect(type, number(effect, "duration", 1).intValue(), number(effect, "amplifier", 0).intValue());
+        }).toArray(PotionEffect[]::new);
+    }
+
+    private static PotionEffectType[] effectTypes(List<?> list) {
+        return list.stream().map(type -> registryValue(RegistryKey.MOB_EFFECT, type)).toArray(PotionEffectType[]::new);
+    }
+
+    /**
+     * Parses an item written as {@code MATERIAL} or {@code MATERIAL:amount}.
+     */
+    private static ItemStack stack(String value) {
+        String[] parts = value.split(":(?=\\d+$)");
+        Material material = Material.matchMaterial(parts[0]);
+        if (material == null) throw new IllegalArgumentException("Unknown material: " + parts[0]);
+        return new ItemStack(material, parts.length > 1 ? Integer.parseInt(parts[1]) : 1);
+    }
+
+    /**
+     * Parses a color written as a {@code #RRGGBB} string or an RGB integer.
+     */
+    private static Color color(Object value) {
+        if (value instanceof Number rgb) return Color.fromRGB(rgb.intValue());
+        return Color.fromRGB(Integer.parseInt(String.valueOf(value).replace("#", ""), 16));
+    }
+
+    private static <T> T registryValue(RegistryKey<T> registry, Object key) {
+        T value = RegistryAccess.registryAccess().getRegistry(registry).get(Key.key(String.valueOf(key).toLowerCase(Locale.ROOT)));
+        if (value == null) throw new IllegalArgumentException("Unknown " + registry.key().value() + ": " + key);
+        return value;
+    }
+
+    private static String string(Map<?, ?> map, String key) {
+        Object value = map.get(key);
+        if (value == null) throw new IllegalArgumentException("Missing '" + key + "'");
+        return String.valueOf(value);
+    }
+
+    private static Number number(Map<?, ?> map, String key, Number def) {
+        return map.get(key) instanceof Number number ? number : def;
+    }
+
+    private static Map<String, Object> toMap(ConfigurationSection section) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : section.getValues(false).entrySet()) {
+            map.put(entry.getKey(), entry.getValue() instanceof ConfigurationSection child ? toMap(child) : entry.getValue());
+        }
+        return map;
+    }
+
+    private static boolean isDefinitionFile(Path path) {
+        return path.getFileName().toString().endsWith(".yml");
+    }
+}
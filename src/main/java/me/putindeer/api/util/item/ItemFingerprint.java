@@ -0,0 +1,96 @@
+package me.putindeer.api.util.item;
+
+import io.papermc.paper.datacomponent.DataComponentType;
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Computes stable 64-bit fingerprints of items, used to reject non-matching stacks
+ * before the deep component comparison of {@link ItemStack#isSimilar(ItemStack)}.
+ * <br><br>
+ * The fingerprint covers the item type, the set of data component types it has, and the values that usually tell
+ * two stacks of the same type apart: the plain text of the custom name and item name, and the item model.
+ * It ignores the amount.
+ * Two similar items always have the same fingerprint, so different fingerprints mean the items are not similar.
+ * The opposite is not guaranteed: equal fingerprints still need an {@code isSimilar} check, which
+ * {@link #isSimilar(ItemStack, long, ItemStack)} does.
+ * <br><br>
+ * The fingerprint only depends on namespaced keys and plain text, so it's stable across restarts.
+ * Computing one is not free, so it only pays off when it is computed once and compared many times:
+ * {@link me.putindeer.api.util.builder.ItemTemplate} memoizes the fingerprint of its prototype, and
+ * {@link me.putindeer.api.util.inventory.StoragePlan} fingerprints each slot once per plan.
+ */
+@SuppressWarnings({"unused", "UnstableApiUsage"})
+public final class ItemFingerprint {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ItemFingerprint() {
+    }
+
+    /**
+     * Computes the fingerprint of an item.
+     *
+     * @param item The item to fingerprint
+     * @return The 64-bit fingerprint, or {@code 0} for null or empty items
+     */
+    public static long of(ItemStack item) {
+        if (item == null || item.isEmpty()) return 0L;
+
+        long components = 0L;
+        for (DataComponentType type : item.getDataTypes()) {
+            components += mix(hash(type.getKey().asString()));
+        }
+
+        long values = 0L;
+        Component customName = item.getData(DataComponentTypes.CUSTOM_NAME);
+        if (customName != null) values ^= mix(hash(PlainTextComponentSerializer.plainText().serialize(customName)));
+        Component itemName = item.getData(DataComponentTypes.ITEM_NAME);
+        if (itemName != null) values ^= mix(hash(PlainTextComponentSerializer.plainText().serialize(itemName)) + 1);
+        Key model = item.getData(DataComponentTypes.ITEM_MODEL);
+        if (model != null) values ^= mix(hash(model.asString()) + 2);
+
+        return mix(hash(item.getType().getKey().asString()) ^ (components * FNV_PRIME) ^ values);
+    }
+
+    /**
+     * Checks if a candidate stack is similar to a target item, rejecting it by type and fingerprint
+     * before falling back to {@link ItemStack#isSimilar(ItemStack)}.
+     * <br><br>
+     * The candidate is fingerprinted on every call, so use this only when the candidate is checked once, such as
+     * against a memoized target fingerprint. When scanning an inventory, fingerprint each slot once and compare the values.
+     *
+     * @param target      The item to match
+     * @param fingerprint The precomputed fingerprint of the target
+     * @param candidate   The stack to check, may be null
+     * @return {@code true} if the candidate is similar to the target
+     */
+    public static boolean isSimilar(ItemStack target, long fingerprint, ItemStack candidate) {
+        if (candidate == null) return false;
+        Material type = candidate.getType();
+        if (type != target.getType()) return false;
+        return of(candidate) == fingerprint && candidate.isSimilar(target);
+    }
+
+    private static long hash(String string) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < string.length(); i++) {
+            hash ^= string.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,181 @@
+package me.putindeer.api.util.item;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Compact binary persistence for batches of items, such as kits, shop stock or inventory backups.
+ * <br><br>
+ * Items are encoded with {@link ItemStack#serializeAsBytes()} and written as length-prefixed entries
+ * in a single file, which is read back through a memory-mapped {@link FileChannel} instead of one
+ * file or YAML section per item. {@code null} and empty items are kept as empty entries, so slot
+ * positions are preserved.
+ * <br><br>
+ * With dictionary mode enabled, identical entries are stored only once and referenced by index,
+ * which shrinks batches with many repeated items (same lore, same enchantments) and lets the reader
+ * decode each distinct item only once.
+ * <p>
+ * File layout: {@code magic, version, flags, count}, followed by either {@code count} entries, or
+ * a dictionary of unique entries and {@code count} indexes. Every entry is an {@code int} length and its bytes.
+ */
+@SuppressWarnings("unused")
+public final class ItemStore {
+    private static final int MAGIC = 0x4D434953;
+    private static final int VERSION = 1;
+    private static final byte FLAG_DICTIONARY = 1;
+
+    private ItemStore() {
+    }
+
+    /**
+     * Writes a batch of items to a file, replacing it atomically.
+     *
+     * @param file       The file to write to
+     * @param items      The items to store, may contain {@code null} entries
+     * @param dictionary Whether to store identical items only once
+     * @throws IOException if the file can't be written
+     */
+    public static void write(Path file, List<ItemStack> items, boolean dictionary) throws IOException {
+        ByteBuffer buffer = encode(items, dictionary);
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a batch of items from a file written by {@link #write(Path, List, boolean)}.
+     *
+     * @param file The file to read from
+     * @return The stored items, with {@code null} for empty entries
+     * @throws IOException if the file can't be read or is not a valid item store
+     */
+    public static List<ItemStack> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer);
+        }
+    }
+
+    /**
+     * Encodes a batch of items into a buffer using the item store layout.
+     *
+     * @param items      The items to encode, may contain {@code null} entries
+     * @param dictionary Whether to store identical items only once
+     * @return A buffer ready to be read or written
+     */
+    public static ByteBuffer encode(List<ItemStack> items, boolean dictionary) {
+        List<byte[]> entries = new ArrayList<>(items.size());
+        int size = 13;
+        for (ItemStack item : items) {
+            entries.add(item == null || item.isEmpty() ? new byte[0] : item.serializeAsBytes());
+        }
+
+        if (!dictionary) {
+            for (byte[] entry : entries) size += 4 + entry.length;
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            buffer.putInt(MAGIC).putInt(VERSION).put((byte) 0).putInt(entries.size());
+            entries.forEach(entry -> buffer.putInt(entry.length).put(entry));
+            return buffer.flip();
+        }
+
+        Map<ByteArrayKey, Integer> indexes = new LinkedHashMap<>();
+        int[] references = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            byte[] entry = entries.get(i);
+            references[i] = entry.length == 0 ? -1 : indexes.computeIfAbsent(new ByteArrayKey(entry), key -> indexes.size());
+        }
+
+        size += 4 + references.length * 4;
+        for (ByteArrayKey key : indexes.keySet()) size += 4 + key.bytes.length;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).put(FLAG_DICTIONARY).putInt(entries.size());
+        buffer.putInt(indexes.size());
+        indexes.keySet().forEach(key -> buffer.putInt(key.bytes.length).put(key.bytes));
+        for (int reference : references) buffer.putInt(reference);
+        return buffer.flip();
+    }
+
+    /**
+     * Decodes a batch of items from a buffer using the item store layout.
+     *
+     * @param buffer The buffer to read from, starting at its current position
+     * @return The decoded items, with {@code null} for empty entries
+     * @throws IOException if the buffer is not a valid item store
+     */
+    public static List<ItemStack> decode(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) throw new IOException("Not an item store file.");
+            int version = buffer.getInt();
+            if (version != VERSION) throw new IOException("Unsupported item store version: " + version);
+            byte flags = buffer.get();
+            int count = checkCount(buffer, buffer.getInt());
+            List<ItemStack> items = new ArrayList<>(count);
+
+            if ((flags & FLAG_DICTIONARY) == 0) {
+                for (int i = 0; i < count; i++) {
+                    items.add(readEntry(buffer));
+                }
+                return items;
+            }
+
+            ItemStack[] dictionary = new ItemStack[checkCount(buffer, buffer.getInt())];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = readEntry(buffer);
+            }
+            for (int i = 0; i < count; i++) {
+                int reference = buffer.getInt();
+                items.add(reference < 0 ? null : dictionary[reference].clone());
+            }
+            return items;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated or corrupted item store.", e);
+        }
+    }
+
+    /**
+     * Checks an entry count against the remaining bytes, since every entry or index takes at least 4 bytes.
+     */
+    private static int checkCount(ByteBuffer buffer, int count) throws IOException {
+        if (count < 0 || count > buffer.remaining() / 4) throw new IOException("Corrupted item store: invalid count " + count + ".");
+        return count;
+    }
+
+    private static ItemStack readEntry(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) throw new IOException("Corrupted item store: invalid entry length " + length + ".");
+        if (length == 0) return null;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return ItemStack.deserializeBytes(bytes);
+    }
+
+    private record ByteArrayKey(byte[] bytes) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ByteArrayKey other && Arrays.equals(bytes, other.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(bytes);
+        }
+    }
+}
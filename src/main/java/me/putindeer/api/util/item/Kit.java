@@ -0,0 +1,164 @@
+package me.putindeer.api.util.item;
+
+import me.putindeer.api.util.builder.ItemBuilder;
+import me.putindeer.api.util.builder.ItemTemplate;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A precompiled player inventory layout, including armor and offhand, applied with a single inventory write.
+ * <br><br>
+ * Slots use the {@link PlayerInventory#getContents()} layout: {@code 0-35} for storage (hotbar first),
+ * {@code 36-39} for boots, leggings, chestplate and helmet, and {@code 40} for the offhand.
+ * Items are stored as prototypes and cloned on every apply, so restocking many players only costs
+ * one clone per item and one {@link PlayerInventory#setContents(ItemStack[])} call per player.
+ * <p>
+ * Usage example:
+ * <pre>
+ * {@code
+ * Kit kit = new Kit()
+ *     .slot(0, utils.ib(Material.DIAMOND_SWORD).enchant(Enchantment.SHARPNESS, 2))
+ *     .slot(1, gheadTemplate, 3)
+ *     .helmet(utils.ib(Material.IRON_HELMET))
+ *     .offhand(utils.ib(Material.SHIELD));
+ *
+ * kit.apply(players);
+ * }
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public class Kit {
+    public static final int SIZE = 41;
+    public static final int BOOTS = 36;
+    public static final int LEGGINGS = 37;
+    public static final int CHESTPLATE = 38;
+    public static final int HELMET = 39;
+    public static final int OFFHAND = 40;
+
+    private final ItemStack[] prototypes = new ItemStack[SIZE];
+
+    /**
+     * Sets the item of a slot from a template.
+     *
+     * @param slot     The slot index, see the class documentation for the layout
+     * @param template The template of the item
+     * @return This kit instance for chaining
+     */
+    public Kit slot(int slot, ItemTemplate template) {
+        return slot(slot, template.create());
+    }
+
+    /**
+     * Sets the item of a slot from a template with the specified amount.
+     *
+     * @param slot     The slot index, see the class documentation for the layout
+     * @param template The template of the item
+     * @param amount   The amount of items in the stack
+     * @return This kit instance for chaining
+     */
+    public Kit slot(int slot, ItemTemplate template, int amount) {
+        return slot(slot, template.create(amount));
+    }
+
+    /**
+     * Sets the item of a slot from a builder, which is built once.
+     *
+     * @param slot    The slot index, see the class documentation for the layout
+     * @param builder The builder of the item
+     * @return This kit instance for chaining
+     */
+    public Kit slot(int slot, ItemBuilder builder) {
+        return slot(slot, builder.build());
+    }
+
+    /**
+     * Sets the item of a slot. A copy of the item is kept as the prototype.
+     *
+     * @param slot The slot index, see the class documentation for the layout
+     * @param item The item, or {@code null} to clear the slot
+     * @return This kit instance for chaining
+     */
+    public Kit slot(int slot, ItemStack item) {
+        if (slot < 0 || slot >= SIZE) throw new IllegalArgumentException("Kit slot must be between 0 and " + (SIZE - 1) + ": " + slot);
+        prototypes[slot] = item == null || item.isEmpty() ? null : item.clone();
+        return this;
+    }
+
+    public Kit helmet(ItemBuilder builder) {
+        return slot(HELMET, builder);
+    }
+
+    public Kit chestplate(ItemBuilder builder) {
+        return slot(CHESTPLATE, builder);
+    }
+
+    public Kit leggings(ItemBuilder builder) {
+        return slot(LEGGINGS, builder);
+    }
+
+    public Kit boots(ItemBuilder builder) {
+        return slot(BOOTS, builder);
+    }
+
+    public Kit offhand(ItemBuilder builder) {
+        return slot(OFFHAND, builder);
+    }
+
+    /**
+     * Creates a fresh copy of the full slot array.
+     *
+     * @return A new array of {@value #SIZE} items, with {@code null} for empty slots
+     */
+    public ItemStack[] contents() {
+        ItemStack[] contents = new ItemStack[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            if (prototypes[i] != null) contents[i] = prototypes[i].clone();
+        }
+        return contents;
+    }
+
+    /**
+     * Replaces a player's whole inventory with this kit in a single write.
+     *
+     * @param player The player receiving the kit
+     */
+    public void apply(Player player) {
+        player.getInventory().setContents(contents());
+    }
+
+    /**
+     * Replaces a player's whole inventory with this kit in a single write, with some slots overridden.
+     *
+     * @param player    The player receiving the kit
+     * @param overrides Slot indexes mapped to the item to use instead, {@code null} values clear the slot
+     */
+    public void apply(Player player, Map<Integer, ItemStack> overrides) {
+        ItemStack[] contents = contents();
+        overrides.forEach((slot, item) -> contents[slot] = item);
+        player.getInventory().setContents(contents);
+    }
+
+    /**
+     * Replaces the whole inventory of every player with this kit.
+     *
+     * @param players The players receiving the kit
+     */
+    public void apply(Collection<? extends Player> players) {
+        players.forEach(this::apply);
+    }
+
+    /**
+     * Replaces the whole inventory of every player with this kit, with per-player overrides.
+     *
+     * @param players   The players receiving the kit
+     * @param overrides Function giving the slot overrides of each player
+     */
+    public void apply(Collection<? extends Player> players, Function<Player, Map<Integer, ItemStack>> overrides) {
+        players.forEach(player -> apply(player, overrides.apply(player)));
+    }
+}
@@ -0,0 +1,212 @@
+package me.putindeer.api.util.item;
+
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Precomputed material categories backed by ordinal-indexed bitsets.
+ * <br><br>
+ * Each category is computed once, using Paper tags where they exist, so checking if a material belongs
+ * to it is a single bit lookup instead of string matching on {@link Material#name()}.
+ * Plugins can register their own categories with {@link #register(String, Predicate)}, and should keep the
+ * returned {@link Category} so checks don't need to look the category up by name.
+ * <p>
+ * Usage example:
+ * <pre>
+ * {@code
+ * if (MaterialClassifier.TOOLS.contains(item.getType())) { ... }
+ * Category ores = MaterialClassifier.register("myplugin:ores", material -> material.name().endsWith("_ORE"));
+ * }
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public final class MaterialClassifier {
+    private static final Material[] MATERIALS = Material.values();
+    private static final Map<String, Category> CATEGORIES = new ConcurrentHashMap<>();
+
+    public static final Category TOOLS = register("tools", material -> Tag.ITEMS_PICKAXES.isTagged(material)
+            || Tag.ITEMS_AXES.isTagged(material) || Tag.ITEMS_SHOVELS.isTagged(material) || Tag.ITEMS_HOES.isTagged(material)
+            || material == Material.SHEARS || material == Material.FISHING_ROD || material == Material.FLINT_AND_STEEL);
+    public static final Category WEAPONS = register("weapons", material -> Tag.ITEMS_SWORDS.isTagged(material)
+            || Tag.ITEMS_AXES.isTagged(material) || material == Material.BOW || material == Material.CROSSBOW
+            || material == Material.TRIDENT || material == Material.MACE);
+    public static final Category HELMETS = register("helmets", Tag.ITEMS_HEAD_ARMOR::isTagged);
+    public static final Category CHESTPLATES = register("chestplates", Tag.ITEMS_CHEST_ARMOR::isTagged);
+    public static final Category LEGGINGS = register("leggings", Tag.ITEMS_LEG_ARMOR::isTagged);
+    public static final Category BOOTS = register("boots", Tag.ITEMS_FOOT_ARMOR::isTagged);
+    public static final Category ARMOR = register("armor", material -> HELMETS.contains(material)
+            || CHESTPLATES.contains(material) || LEGGINGS.contains(material) || BOOTS.contains(material));
+    public static final Category FOOD = register("food", Material::isEdible);
+    public static final Category SOLID_BLOCKS = register("solid_blocks", material -> material.isBlock() && material.isSolid());
+
+    private MaterialClassifier() {
+    }
+
+    /**
+     * Registers or replaces a category, computing its bitset once from the given predicate.
+     * The predicate is only evaluated for non-legacy materials.
+     * <br><br>
+     * Replacing a category updates the existing {@link Category} handle, so handles kept by other code see the change.
+     *
+     * @param category The category name, plugins should prefix it with their namespace
+     * @param filter   The predicate deciding which materials belong to the category
+     * @return The {@link Category} handle
+     */
+    public static Category register(String category, Predicate<Material> filter) {
+        BitSet bits = new BitSet(MATERIALS.length);
+        for (Material material : MATERIALS) {
+            if (!material.isLegacy() && filter.test(material)) bits.set(material.ordinal());
+        }
+        return register(category, bits);
+    }
+
+    /**
+     * Registers or replaces a category from a fixed set of materials.
+     *
+     * @param category  The category name, plugins should prefix it with their namespace
+     * @param materials The materials belonging to the category
+     * @return The {@link Category} handle
+     */
+    public static Category register(String category, Collection<Material> materials) {
+        BitSet bits = new BitSet(MATERIALS.length);
+        materials.forEach(material -> bits.set(material.ordinal()));
+        return register(category, bits);
+    }
+
+    private static Category register(String name, BitSet bits) {
+        Category category = CATEGORIES.computeIfAbsent(name, Category::new);
+        category.bits = bits;
+        return category;
+    }
+
+    /**
+     * Gets a category by name.
+     *
+     * @param category The category name
+     * @return The {@link Category} handle, or {@code null} if it doesn't exist
+     */
+    public static Category category(String category) {
+        return CATEGORIES.get(category);
+    }
+
+    /**
+     * Checks if a material belongs to a category looked up by name.
+     * Prefer {@link Category#contains(Material)} on a kept handle in hot paths.
+     *
+     * @param category The category name
+     * @param material The material to check
+     * @return {@code true} if the material belongs to the category, {@code false} if not or if the category doesn't exist
+     */
+    public static boolean is(String category, Material material) {
+        Category handle = CATEGORIES.get(category);
+        return handle != null && handle.contains(material);
+    }
+
+    /**
+     * Checks if an item's material belongs to a category looked up by name.
+     *
+     * @param category The category name
+     * @param item     The item to check, may be null
+     * @return {@code true} if the item's material belongs to the category
+     */
+    public static boolean is(String category, ItemStack item) {
+        return item != null && is(category, item.getType());
+    }
+
+    /**
+     * Gets the armor slot a material is worn in.
+     *
+     * @param material The material to check
+     * @return The armor {@link EquipmentSlot}, or {@code null} if it's not an armor piece
+     */
+    public static EquipmentSlot armorSlot(Material material) {
+        if (HELMETS.contains(material)) return EquipmentSlot.HEAD;
+        if (CHESTPLATES.contains(material)) return EquipmentSlot.CHEST;
+        if (LEGGINGS.contains(material)) return EquipmentSlot.LEGS;
+        if (BOOTS.contains(material)) return EquipmentSlot.FEET;
+        return null;
+    }
+
+    /**
+     * Gets every material belonging to a category looked up by name.
+     *
+     * @param category The category name
+     * @return A new set with the materials of the category, empty if it doesn't exist
+     */
+    public static Set<Material> materials(String category) {
+        Category handle = CATEGORIES.get(category);
+        return handle == null ? EnumSet.noneOf(Material.class) : handle.materials();
+    }
+
+    /**
+     * Gets the names of every registered category.
+     *
+     * @return An unmodifiable view of the category names
+     */
+    public static Set<String> categories() {
+        return Collections.unmodifiableSet(CATEGORIES.keySet());
+    }
+
+    /**
+     * A registered material category, wrapping its bitset so checks skip the lookup by name.
+     */
+    public static final class Category {
+        private final String name;
+        private volatile BitSet bits;
+
+        private Category(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Checks if a material belongs to this category.
+         *
+         * @param material The material to check
+         * @return {@code true} if the material belongs to the category
+         */
+        public boolean contains(Material material) {
+            return bits.get(material.ordinal());
+        }
+
+        /**
+         * Checks if an item's material belongs to this category.
+         *
+         * @param item The item to check, may be null
+         * @return {@code true} if the item's material belongs to the category
+         */
+        public boolean contains(ItemStack item) {
+            return item != null && contains(item.getType());
+        }
+
+        /**
+         * Gets every material belonging to this category.
+         *
+         * @return A new set with the materials of the category
+         */
+        public Set<Material> materials() {
+            Set<Material> materials = EnumSet.noneOf(Material.class);
+            bits.stream().forEach(ordinal -> materials.add(MATERIALS[ordinal]));
+            return materials;
+        }
+
+        /**
+         * Gets the name of this category.
+         *
+         * @return The category name
+         */
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
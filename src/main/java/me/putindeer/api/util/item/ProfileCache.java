@@ -0,0 +1,120 @@
+package me.putindeer.api.util.item;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import com.destroystokyo.paper.profile.ProfileProperty;
+import io.papermc.paper.datacomponent.item.ResolvableProfile;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A bounded cache of {@link ResolvableProfile} instances for player heads.
+ * <br><br>
+ * Profiles are keyed by texture value and by player {@link UUID}, so items that show the same head
+ * share a single immutable profile instance instead of creating a new one on every build.
+ * Player profiles can be pre-resolved asynchronously with {@link #preload(Collection)} before opening
+ * a menu full of heads, so that no lookup happens while the items are being built.
+ * <p>
+ * Both maps are kept in least-recently-used order and trimmed to the maximum size.
+ * All methods are thread-safe.
+ */
+@SuppressWarnings({"unused", "UnstableApiUsage"})
+public class ProfileCache {
+    private final Map<String, ResolvableProfile> textures;
+    private final Map<UUID, ResolvableProfile> players;
+
+    /**
+     * Creates a new ProfileCache instance.
+     *
+     * @param maxSize The maximum amount of profiles kept for each key type
+     */
+    public ProfileCache(int maxSize) {
+        this.textures = boundedMap(maxSize);
+        this.players = boundedMap(maxSize);
+    }
+
+    private static <K, V> Map<K, V> boundedMap(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Gets the shared profile for a texture value, creating it if it's not cached.
+     *
+     * @param texture The Base64 texture value
+     * @return The cached {@link ResolvableProfile}
+     */
+    public ResolvableProfile texture(String texture) {
+        return textures.computeIfAbsent(texture, value -> ResolvableProfile.resolvableProfile()
+                .addProperty(new ProfileProperty("textures", value))
+                .build());
+    }
+
+    /**
+     * Gets the shared profile for a player, creating it from {@link OfflinePlayer#getPlayerProfile()} if it's not cached.
+     * <br><br>
+     * If the created profile has no textures yet, it is resolved asynchronously and the cache entry
+     * is replaced once it completes, so later items get the textured head.
+     *
+     * @param player The player whose head profile to get
+     * @return The cached {@link ResolvableProfile}
+     */
+    public ResolvableProfile player(OfflinePlayer player) {
+        ResolvableProfile cached = players.get(player.getUniqueId());
+        if (cached != null) return cached;
+
+        PlayerProfile profile = player.getPlayerProfile();
+        ResolvableProfile resolvable = ResolvableProfile.resolvableProfile(profile);
+        players.put(player.getUniqueId(), resolvable);
+        if (!profile.hasTextures()) {
+            resolve(player.getUniqueId(), profile);
+        }
+        return resolvable;
+    }
+
+    /**
+     * Resolves and caches the profiles of the given players asynchronously.
+     * Players that are already cached with textures are skipped.
+     *
+     * @param uuids The UUIDs of the players to pre-resolve
+     * @return A future completed once every profile has been resolved or failed
+     */
+    public CompletableFuture<Void> preload(Collection<UUID> uuids) {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (UUID uuid : uuids) {
+            ResolvableProfile cached = players.get(uuid);
+            if (cached != null && !cached.properties().isEmpty()) continue;
+            futures.add(resolve(uuid, Bukkit.createProfile(uuid)));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    private CompletableFuture<?> resolve(UUID uuid, PlayerProfile profile) {
+        return profile.update()
+                .thenAccept(updated -> players.put(uuid, ResolvableProfile.resolvableProfile(updated)))
+                .exceptionally(throwable -> null);
+    }
+
+    /**
+     * Removes every cached profile.
+     */
+    public void clear() {
+        textures.clear();
+        players.clear();
+    }
+
+    /**
+     * Gets the amount of cached profiles.
+     *
+     * @return The amount of cached texture and player profiles
+     */
+    public int size() {
+        return textures.size() + players.size();
+    }
+}
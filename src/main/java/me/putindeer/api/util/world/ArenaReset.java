@@ -0,0 +1,347 @@
+package me.putindeer.api.util.world;
+
+import me.putindeer.api.util.builder.WorldBuilder;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.DoubleChest;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.*;
+import org.bukkit.event.hanging.HangingBreakEvent;
+import org.bukkit.event.hanging.HangingPlaceEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.event.player.PlayerBucketEmptyEvent;
+import org.bukkit.event.player.PlayerBucketFillEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.world.StructureGrowEvent;
+import org.bukkit.inventory.BlockInventoryHolder;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.plugin.Plugin;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Resets an arena world by restoring only the chunks that changed during a match from its template.
+ * <br><br>
+ * While a match is running, block and entity events mark the chunks they touch as dirty. On {@link #reset(WorldBuilder)},
+ * the world is unloaded without saving, the dirty chunks are copied from the template's region files (block data,
+ * entities and points of interest) with {@link RegionFiles#copyChunks(Path, Path, Collection)}, and the world is
+ * loaded again. Untouched chunks are never read or written, so the reset time depends on how much was changed,
+ * not on the map size.
+ * <br><br>
+ * The template must be the folder the world was cloned from, for example with {@link WorldBuilder#fromTemplate(Path)}.
+ * Besides block changes, container contents, interactions (doors, levers, buttons, pressure plates), signs and
+ * hanging entities are tracked. Changes made by plugins without firing an event must be reported with {@link #markDirty(Chunk)}.
+ */
+@SuppressWarnings("unused")
+public class ArenaReset implements Listener {
+    private final Plugin plugin;
+    private final Path template;
+    private World world;
+    private final Set<Long> dirty = new HashSet<>();
+
+    /**
+     * Creates a new ArenaReset instance and starts tracking the world.
+     *
+     * @param plugin   The plugin used to register the listener and schedule the tasks
+     * @param world    The arena world
+     * @param template The template world folder the arena was cloned from
+     */
+    public ArenaReset(Plugin plugin, World world, Path template) {
+        this.plugin = plugin;
+        this.world = world;
+        this.template = template;
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Marks a chunk as dirty.
+     *
+     * @param chunk The chunk that changed
+     */
+    public void markDirty(Chunk chunk) {
+        markDirty(chunk.getX(), chunk.getZ());
+    }
+
+    /**
+     * Marks a chunk as dirty.
+     *
+     * @param chunkX The x-coordinate of the chunk
+     * @param chunkZ The z-coordinate of the chunk
+     */
+    public void markDirty(int chunkX, int chunkZ) {
+        dirty.add(Chunk.getChunkKey(chunkX, chunkZ));
+    }
+
+    /**
+     * Gets the chunks marked as dirty since the last reset.
+     *
+     * @return An unmodifiable view of the dirty chunk keys
+     */
+    public Set<Long> getDirtyChunks() {
+        return Collections.unmodifiableSet(dirty);
+    }
+
+    /**
+     * Gets the arena world currently tracked.
+     *
+     * @return The tracked world, which changes after every reset
+     */
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * Restores the dirty chunks from the template and loads the world again.
+     * <br><br>
+     * Every player must have left the world before calling this. The chunks of the remaining entities are also
+     * marked as dirty, since entities may have moved away from their template chunk. If the reset fails, the dirty
+     * chunks are kept, so a later reset restores them.
+     *
+     * @param builder The builder used to load the world again, with the same name as the arena world
+     * @return A future completed with the reloaded world
+     * @throws IllegalStateException if there are still players in the world
+     */
+    public CompletableFuture<World> reset(WorldBuilder builder) {
+        if (!world.getPlayers().isEmpty()) throw new IllegalStateException("World " + world.getName() + " still has players in it.");
+
+        for (Entity entity : world.getEntities()) {
+            markDirty(entity.getLocation().getBlockX() >> 4, entity.getLocation().getBlockZ() >> 4);
+        }
+        Set<Long> chunks = new HashSet<>(dirty);
+
+        Path worldFolder = world.getWorldFolder().toPath();
+        World.Environment environment = world.getEnvironment();
+        Path templateDimension = RegionFiles.dimensionFolder(template, environment);
+        Path targetDimension = RegionFiles.dimensionFolder(worldFolder, environment);
+
+        if (!Bukkit.unloadWorld(world, false)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Could not unload world " + world.getName() + "."));
+        }
+        dirty.clear();
+
+        CompletableFuture<Void> restored = new CompletableFuture<>();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                for (String folder : RegionFiles.FOLDERS) {
+                    RegionFiles.copyChunks(templateDimension.resolve(folder), targetDimension.resolve(folder), chunks);
+                }
+                restored.complete(null);
+            } catch (IOException e) {
+                restored.completeExceptionally(e);
+            }
+        });
+
+        CompletableFuture<World> future = new CompletableFuture<>();
+        restored.whenComplete((ignored, throwable) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (throwable != null) {
+                dirty.addAll(chunks);
+                future.completeExceptionally(throwable);
+                return;
+            }
+            builder.buildAsync(plugin).whenComplete((reloaded, error) -> {
+                if (error != null) {
+                    Bukkit.getScheduler().runTask(plugin, () -> {
+                        dirty.addAll(chunks);
+                        future.completeExceptionally(error);
+                    });
+                    return;
+                }
+                world = reloaded;
+                future.complete(reloaded);
+            });
+        }));
+        return future;
+    }
+
+    /**
+     * Stops tracking the world and unregisters the listener.
+     */
+    public void close() {
+        dirty.clear();
+        HandlerList.unregisterAll(this);
+    }
+
+    //region [Events]
+    private void mark(Block block) {
+        if (block.getWorld().equals(world)) markDirty(block.getX() >> 4, block.getZ() >> 4);
+    }
+
+    private void mark(InventoryHolder holder) {
+        if (holder instanceof DoubleChest chest) {
+            mark(chest.getLeftSide());
+            mark(chest.getRightSide());
+        } else if (holder instanceof BlockInventoryHolder block) {
+            mark(block.getBlock());
+        } else if (holder instanceof Entity entity) {
+            mark(entity);
+        }
+    }
+
+    private void mark(Entity entity) {
+        if (entity.getWorld().equals(world) && !(entity instanceof Player)) {
+            markDirty(entity.getLocation().getBlockX() >> 4, entity.getLocation().getBlockZ() >> 4);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBreak(BlockBreakEvent event) {
+        mark(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlace(BlockPlaceEvent event) {
+        mark(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMultiPlace(BlockMultiPlaceEvent event) {
+        event.getReplacedBlockStates().forEach(state -> mark(state.getBlock()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        mark(event.getBlock());
+        event.blockList().forEach(this::mark);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        event.blockList().forEach(this::mark);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBurn(BlockBurnEvent event) {
+        mark(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onIgnite(BlockIgniteEvent event) {
+        mark(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFlow(BlockFromToEvent event) {
+        mark(event.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onForm(BlockFormEvent event) {
+        mark(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFade(BlockFadeEvent event) {
+        mark(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSpread(BlockSpreadEvent event) {
+        mark(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDecay(LeavesDecayEvent event) {
+        mark(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        mark(event.getBlock());
+        event.getBlocks().forEach(block -> {
+            mark(block);
+            mark(block.getRelative(event.getDirection()));
+        });
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        mark(event.getBlock());
+        event.getBlocks().forEach(block -> {
+            mark(block);
+            mark(block.getRelative(event.getDirection()));
+        });
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketEmpty(PlayerBucketEmptyEvent event) {
+        mark(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketFill(PlayerBucketFillEvent event) {
+        mark(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onGrow(StructureGrowEvent event) {
+        event.getBlocks().stream().map(BlockState::getBlock).forEach(this::mark);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockGrow(BlockGrowEvent event) {
+        mark(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSignChange(SignChangeEvent event) {
+        mark(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInteract(PlayerInteractEvent event) {
+        Block block = event.getClickedBlock();
+        if (block == null || event.useInteractedBlock() == Event.Result.DENY) return;
+        if (event.getAction() == Action.RIGHT_CLICK_BLOCK || event.getAction() == Action.PHYSICAL) mark(block);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        mark(event.getInventory().getHolder(false));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryMove(InventoryMoveItemEvent event) {
+        mark(event.getSource().getHolder(false));
+        mark(event.getDestination().getHolder(false));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHangingPlace(HangingPlaceEvent event) {
+        mark(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHangingBreak(HangingBreakEvent event) {
+        mark(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onChangeBlock(EntityChangeBlockEvent event) {
+        mark(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSpawn(EntitySpawnEvent event) {
+        mark(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(EntityDeathEvent event) {
+        mark(event.getEntity());
+    }
+    //endregion
+}
@@ -0,0 +1,255 @@
+package me.putindeer.api.util.world;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.plugin.Plugin;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A palette-compressed, in-memory snapshot of the blocks in a cuboid, for rolling back small arenas without disk I/O.
+ * <br><br>
+ * Each distinct {@link BlockData} is stored once in a palette, and every block is stored as a palette index packed
+ * into a {@code long[]} with as few bits as the palette needs. A cuboid with 16 distinct blocks uses 4 bits per
+ * block instead of a reference to a {@link BlockData} object.
+ * <br><br>
+ * Restoring compares the snapshot with the current blocks off the main thread, using chunk snapshots,
+ * and then only sets the blocks that differ, in batches spread across ticks. Only block data is captured:
+ * container contents and other block entity data are not.
+ * <p>
+ * Usage example:
+ * <pre>
+ * {@code
+ * BlockSnapshot snapshot = BlockSnapshot.capture(cornerOne, cornerTwo);
+ * // After the match:
+ * snapshot.restore(plugin, 5000).thenAccept(changed -> utils.log("Restored " + changed + " blocks"));
+ * }
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public final class BlockSnapshot {
+    private final World world;
+    private final int minX, minY, minZ;
+    private final int sizeX, sizeY, sizeZ;
+    private final BlockData[] palette;
+    private final int bits;
+    private final int valuesPerLong;
+    private final long[] data;
+
+    private BlockSnapshot(World world, int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ, BlockData[] palette, int[] indexes) {
+        this.world = world;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.palette = palette;
+        this.bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(palette.length - 1));
+        this.valuesPerLong = 64 / bits;
+        this.data = new long[(indexes.length + valuesPerLong - 1) / valuesPerLong];
+        for (int i = 0; i < indexes.length; i++) {
+            data[i / valuesPerLong] |= (long) indexes[i] << ((i % valuesPerLong) * bits);
+        }
+    }
+
+    /**
+     * Captures the blocks of the cuboid between two corners (both inclusive), like {@code PluginUtils#isInside}.
+     * Must be called from the main thread. The chunks of the cuboid are loaded if needed.
+     *
+     * @param cornerOne First corner of the cuboid
+     * @param cornerTwo Second corner of the cuboid, in the same world
+     * @return The captured snapshot
+     * @throws IllegalArgumentException if the cuboid is entirely outside the height of the world
+     */
+    public static BlockSnapshot capture(Location cornerOne, Location cornerTwo) {
+        World world = cornerOne.getWorld();
+        int minX = Math.min(cornerOne.getBlockX(), cornerTwo.getBlockX());
+        int minY = Math.max(world.getMinHeight(), Math.min(cornerOne.getBlockY(), cornerTwo.getBlockY()));
+        int minZ = Math.min(cornerOne.getBlockZ(), cornerTwo.getBlockZ());
+        int maxX = Math.max(cornerOne.getBlockX(), cornerTwo.getBlockX());
+        int maxY = Math.min(world.getMaxHeight() - 1, Math.max(cornerOne.getBlockY(), cornerTwo.getBlockY()));
+        int maxZ = Math.max(cornerOne.getBlockZ(), cornerTwo.getBlockZ());
+        int sizeX = maxX - minX + 1;
+        int sizeY = maxY - minY + 1;
+        int sizeZ = maxZ - minZ + 1;
+        if (sizeY <= 0) throw new IllegalArgumentException("The cuboid is outside the height of world " + world.getName() + ".");
+
+        Map<BlockData, Integer> palette = new LinkedHashMap<>();
+        int[] indexes = new int[sizeX * sizeY * sizeZ];
+        Map<Long, ChunkSnapshot> chunks = snapshots(world, minX, minZ, maxX, maxZ);
+
+        for (int y = 0; y < sizeY; y++) {
+            for (int z = 0; z < sizeZ; z++) {
+                for (int x = 0; x < sizeX; x++) {
+                    int blockX = minX + x;
+                    int blockZ = minZ + z;
+                    ChunkSnapshot chunk = chunks.get(Chunk.getChunkKey(blockX >> 4, blockZ >> 4));
+                    BlockData block = chunk.getBlockData(blockX & 15, minY + y, blockZ & 15);
+                    indexes[(y * sizeZ + z) * sizeX + x] = palette.computeIfAbsent(block, key -> palette.size());
+                }
+            }
+        }
+        return new BlockSnapshot(world, minX, minY, minZ, sizeX, sizeY, sizeZ, palette.keySet().toArray(new BlockData[0]), indexes);
+    }
+
+    private static Map<Long, ChunkSnapshot> snapshots(World world, int minX, int minZ, int maxX, int maxZ) {
+        Map<Long, ChunkSnapshot> chunks = new HashMap<>();
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                chunks.put(Chunk.getChunkKey(chunkX, chunkZ), world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Gets the captured block data at a position.
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     * @return The captured {@link BlockData}
+     * @throws IndexOutOfBoundsException if the position is outside the cuboid
+     */
+    public BlockData getBlockData(int x, int y, int z) {
+        if (x < minX || y < minY || z < minZ || x >= minX + sizeX || y >= minY + sizeY || z >= minZ + sizeZ) {
+            throw new IndexOutOfBoundsException("Position " + x + ", " + y + ", " + z + " is outside the snapshot.");
+        }
+        return palette[index(((y - minY) * sizeZ + (z - minZ)) * sizeX + (x - minX))];
+    }
+
+    private int index(int position) {
+        return (int) ((data[position / valuesPerLong] >>> ((position % valuesPerLong) * bits)) & ((1L << bits) - 1));
+    }
+
+    /**
+     * Restores the captured blocks, only setting the ones that differ from the current world.
+     * <br><br>
+     * The current blocks are captured with chunk snapshots on the main thread and compared off it. The differing
+     * blocks are then set without physics, at most {@code blocksPerTick} per tick. Must be called from the main thread.
+     *
+     * @param plugin        The plugin used to schedule the tasks
+     * @param blocksPerTick The maximum amount of blocks to set per tick
+     * @return A future completed with the amount of blocks that were set, or completed exceptionally if the restore fails
+     */
+    public CompletableFuture<Integer> restore(Plugin plugin, int blocksPerTick) {
+        Map<Long, ChunkSnapshot> chunks = snapshots(world, minX, minZ, minX + sizeX - 1, minZ + sizeZ - 1);
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            int[] changed;
+            try {
+                changed = diff(chunks);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                return;
+            }
+            apply(plugin, changed, Math.max(1, blocksPerTick), future);
+        });
+        return future;
+    }
+
+    private int[] diff(Map<Long, ChunkSnapshot> chunks) {
+        int[] changed = new int[sizeX * sizeY * sizeZ];
+        int count = 0;
+        for (int y = 0; y < sizeY; y++) {
+            for (int z = 0; z < sizeZ; z++) {
+                for (int x = 0; x < sizeX; x++) {
+                    int blockX = minX + x;
+                    int blockZ = minZ + z;
+                    int position = (y * sizeZ + z) * sizeX + x;
+                    ChunkSnapshot chunk = chunks.get(Chunk.getChunkKey(blockX >> 4, blockZ >> 4));
+                    if (!chunk.getBlockData(blockX & 15, minY + y, blockZ & 15).equals(palette[index(position)])) {
+                        changed[count++] = position;
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(changed, count);
+    }
+
+    private void apply(Plugin plugin, int[] changed, int blocksPerTick, CompletableFuture<Integer> future) {
+        int[] cursor = {0};
+        Bukkit.getScheduler().runTaskTimer(plugin, task -> {
+            int end = Math.min(changed.length, cursor[0] + blocksPerTick);
+            try {
+                for (int i = cursor[0]; i < end; i++) {
+                    int position = changed[i];
+                    int x = position % sizeX;
+                    int z = (position / sizeX) % sizeZ;
+                    int y = position / (sizeX * sizeZ);
+                    world.getBlockAt(minX + x, minY + y, minZ + z).setBlockData(palette[index(position)], false);
+                }
+            } catch (RuntimeException e) {
+                task.cancel();
+                future.completeExceptionally(e);
+                return;
+            }
+            cursor[0] = end;
+            if (end >= changed.length) {
+                task.cancel();
+                future.complete(changed.length);
+            }
+        }, 0L, 1L);
+    }
+
+    /**
+     * Gets the world of the snapshot.
+     *
+     * @return The {@link World} the cuboid was captured in
+     */
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * Gets the lowest corner of the cuboid.
+     *
+     * @return The {@link Location} of the block with the lowest coordinates
+     */
+    public Location getMinCorner() {
+        return new Location(world, minX, minY, minZ);
+    }
+
+    /**
+     * Gets the highest corner of the cuboid.
+     *
+     * @return The {@link Location} of the block with the highest coordinates
+     */
+    public Location getMaxCorner() {
+        return new Location(world, minX + sizeX - 1, minY + sizeY - 1, minZ + sizeZ - 1);
+    }
+
+    /**
+     * Gets the amount of blocks in the snapshot.
+     *
+     * @return The volume of the cuboid
+     */
+    public int getVolume() {
+        return sizeX * sizeY * sizeZ;
+    }
+
+    /**
+     * Gets the amount of distinct block states in the snapshot.
+     *
+     * @return The palette size
+     */
+    public int getPaletteSize() {
+        return palette.length;
+    }
+
+    /**
+     * Gets the size of the packed block indexes.
+     *
+     * @return The size of the packed data, in bytes
+     */
+    public long getPackedBytes() {
+        return data.length * 8L;
+    }
+}
@@ -0,0 +1,378 @@
+package me.putindeer.api.util.world;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Generates every chunk of a square area ahead of time, so players exploring a map don't generate chunks mid-game.
+ * <br><br>
+ * Chunks are requested with {@link World#getChunkAtAsync(int, int, boolean)}, with at most {@code concurrency}
+ * requests in flight. They are visited one region file (32x32 chunks) at a time, starting from the regions
+ * closest to the center, so each region file is written in one go. Requests stop while the server TPS is below
+ * the minimum or the average tick time is above the maximum, and start again once it recovers.
+ * <br><br>
+ * Progress is reported periodically with the generation rate and an estimated remaining time. When a progress
+ * file is set, the progress is saved to it and a later task with the same world and area resumes from it.
+ * <p>
+ * Usage example:
+ * <pre>
+ * {@code
+ * new ChunkPregenerator(plugin, world, 0, 0, 1500)
+ *     .concurrency(16)
+ *     .maxMspt(40)
+ *     .progressFile(plugin.getDataFolder().toPath().resolve("pregen.txt"))
+ *     .start()
+ *     .thenRun(() -> utils.log("Map ready"));
+ * }
+ * </pre>
+ * Every method must be called from the main thread.
+ */
+@SuppressWarnings("unused")
+public class ChunkPregenerator {
+    private static final int REGION_SIZE = 32;
+
+    private final Plugin plugin;
+    private final World world;
+    private final int centerX, centerZ;
+    private final int radius;
+    private int concurrency = 8;
+    private double minTps = 18;
+    private double maxMspt = 45;
+    private long reportInterval = 200;
+    private Path progressFile;
+    private Consumer<Progress> onProgress;
+
+    private long[] chunks;
+    private BitSet completed;
+    private int next;
+    private int saved;
+    private int done;
+    private int inFlight;
+    private boolean paused;
+    private BukkitTask task;
+    private CompletableFuture<Void> future;
+
+    private int run;
+    private long saveSequence;
+    private final Object progressLock = new Object();
+    private long writtenSequence;
+
+    private long lastReportNanos;
+    private int lastReportDone;
+
+    /**
+     * Creates a new ChunkPregenerator instance for the square area of {@code radius} blocks around a center.
+     *
+     * @param plugin  The plugin used to schedule the tasks
+     * @param world   The world to generate chunks in
+     * @param centerX The x-coordinate of the center, in blocks
+     * @param centerZ The z-coordinate of the center, in blocks
+     * @param radius  The distance from the center to the edges of the area, in blocks
+     */
+    public ChunkPregenerator(Plugin plugin, World world, int centerX, int centerZ, int radius) {
+        this.plugin = plugin;
+        this.world = world;
+        this.centerX = centerX;
+        this.centerZ = centerZ;
+        this.radius = radius;
+    }
+
+    /**
+     * Sets the maximum amount of chunk requests in flight. Default is 8.
+     *
+     * @param concurrency The maximum amount of pending requests
+     * @return This ChunkPregenerator instance
+     */
+    public ChunkPregenerator concurrency(int concurrency) {
+        this.concurrency = Math.max(1, concurrency);
+        return this;
+    }
+
+    /**
+     * Sets the TPS below which generation pauses. Default is 18.
+     *
+     * @param minTps The minimum TPS, over the last minute
+     * @return This ChunkPregenerator instance
+     */
+    public ChunkPregenerator minTps(double minTps) {
+        this.minTps = minTps;
+        return this;
+    }
+
+    /**
+     * Sets the average tick time above which generation pauses. Default is 45.
+     *
+     * @param maxMspt The maximum milliseconds per tick
+     * @return This ChunkPregenerator instance
+     */
+    public ChunkPregenerator maxMspt(double maxMspt) {
+        this.maxMspt = maxMspt;
+        return this;
+    }
+
+    /**
+     * Sets how often progress is reported and saved. Default is 200 ticks.
+     *
+     * @param ticks The interval, in ticks
+     * @return This ChunkPregenerator instance
+     */
+    public ChunkPregenerator reportInterval(long ticks) {
+        this.reportInterval = Math.max(1, ticks);
+        return this;
+    }
+
+    /**
+     * Sets the file the progress is saved to and resumed from. It is deleted once generation completes.
+     *
+     * @param progressFile The progress file
+     * @return This ChunkPregenerator instance
+     */
+    public ChunkPregenerator progressFile(Path progressFile) {
+        this.progressFile = progressFile;
+        return this;
+    }
+
+    /**
+     * Sets the consumer of the progress reports. By default, progress is logged by the plugin logger.
+     *
+     * @param onProgress The consumer of each {@link Progress} report
+     * @return This ChunkPregenerator instance
+     */
+    public ChunkPregenerator onProgress(Consumer<Progress> onProgress) {
+        this.onProgress = onProgress;
+        return this;
+    }
+
+    /**
+     * Starts generating chunks, resuming from the progress file if it matches this task.
+     *
+     * @return A future completed once every chunk has been generated, or cancelled by {@link #stop()}
+     * @throws IllegalStateException if the task is already running
+     */
+    public CompletableFuture<Void> start() {
+        if (task != null) throw new IllegalStateException("The pregeneration of " + world.getName() + " is already running.");
+        run++;
+        chunks = order();
+        completed = new BitSet(chunks.length);
+        next = saved = done = loadProgress();
+        completed.set(0, next);
+        inFlight = 0;
+        future = new CompletableFuture<>();
+        lastReportNanos = System.nanoTime();
+        lastReportDone = done;
+        if (next >= chunks.length) {
+            deleteProgress();
+            future.complete(null);
+            return future;
+        }
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        return future;
+    }
+
+    /**
+     * Stops generating chunks and saves the progress synchronously, so it is safe to call from {@code onDisable}.
+     * Requests already in flight still complete, but are no longer counted.
+     */
+    public void stop() {
+        if (task == null) return;
+        task.cancel();
+        task = null;
+        run++;
+        if (progressFile != null) writeProgress(++saveSequence, progressContent());
+        future.cancel(false);
+    }
+
+    /**
+     * Checks whether the task is running.
+     *
+     * @return {@code true} if the task is started and not completed or stopped
+     */
+    public boolean isRunning() {
+        return task != null;
+    }
+
+    /**
+     * Checks whether requests are currently paused because the server is overloaded.
+     *
+     * @return {@code true} if the task is paused
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    private long[] order() {
+        int minChunkX = (centerX - radius) >> 4, maxChunkX = (centerX + radius) >> 4;
+        int minChunkZ = (centerZ - radius) >> 4, maxChunkZ = (centerZ + radius) >> 4;
+        int minRegionX = minChunkX >> 5, maxRegionX = maxChunkX >> 5;
+        int minRegionZ = minChunkZ >> 5, maxRegionZ = maxChunkZ >> 5;
+        int centerRegionX = (centerX >> 4) >> 5, centerRegionZ = (centerZ >> 4) >> 5;
+
+        long[] result = new long[(maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1)];
+        int index = 0;
+        int rings = Math.max(Math.max(centerRegionX - minRegionX, maxRegionX - centerRegionX),
+                Math.max(centerRegionZ - minRegionZ, maxRegionZ - centerRegionZ));
+        for (int ring = 0; ring <= rings; ring++) {
+            for (int regionX = centerRegionX - ring; regionX <= centerRegionX + ring; regionX++) {
+                for (int regionZ = centerRegionZ - ring; regionZ <= centerRegionZ + ring; regionZ++) {
+                    if (Math.max(Math.abs(regionX - centerRegionX), Math.abs(regionZ - centerRegionZ)) != ring) continue;
+                    int fromX = Math.max(minChunkX, regionX * REGION_SIZE), toX = Math.min(maxChunkX, regionX * REGION_SIZE + REGION_SIZE - 1);
+                    int fromZ = Math.max(minChunkZ, regionZ * REGION_SIZE), toZ = Math.min(maxChunkZ, regionZ * REGION_SIZE + REGION_SIZE - 1);
+                    for (int chunkZ = fromZ; chunkZ <= toZ; chunkZ++) {
+                        for (int chunkX = fromX; chunkX <= toX; chunkX++) {
+                            result[index++] = RegionFiles.key(chunkX, chunkZ);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private void tick() {
+        paused = Bukkit.getTPS()[0] < minTps || Bukkit.getAverageTickTime() > maxMspt;
+        if (!paused) {
+            while (inFlight < concurrency && next < chunks.length) {
+                int index = next++;
+                inFlight++;
+                long key = chunks[index];
+                int current = run;
+                world.getChunkAtAsync(RegionFiles.chunkX(key), RegionFiles.chunkZ(key), true).whenComplete((chunk, error) -> {
+                    if (current == run) complete(index, error);
+                });
+            }
+        }
+
+        if (Bukkit.getCurrentTick() % reportInterval == 0) {
+            report();
+            saveProgress();
+        }
+    }
+
+    private void complete(int index, Throwable error) {
+        inFlight--;
+        if (error != null) {
+            plugin.getLogger().log(Level.WARNING, "Could not generate chunk " + index + " of " + world.getName(), error);
+        }
+        completed.set(index);
+        done++;
+        while (saved < chunks.length && completed.get(saved)) saved++;
+
+        if (task != null && done >= chunks.length) {
+            task.cancel();
+            task = null;
+            report();
+            deleteProgress();
+            future.complete(null);
+        }
+    }
+
+    private void report() {
+        long now = System.nanoTime();
+        double seconds = (now - lastReportNanos) / 1_000_000_000D;
+        double rate = seconds > 0 ? (done - lastReportDone) / seconds : 0;
+        lastReportNanos = now;
+        lastReportDone = done;
+
+        Duration eta = rate > 0 ? Duration.ofSeconds((long) ((chunks.length - done) / rate)) : null;
+        Progress progress = new Progress(done, chunks.length, rate, eta, paused);
+        if (onProgress != null) {
+            onProgress.accept(progress);
+        } else {
+            plugin.getLogger().info(String.format("Pregenerating %s: %d/%d chunks (%.1f%%), %.1f chunks/s, ETA %s%s",
+                    world.getName(), done, chunks.length, progress.percent(), rate,
+                    eta == null ? "unknown" : eta.toString().substring(2).toLowerCase(), paused ? " [paused]" : ""));
+        }
+    }
+
+    private String header() {
+        return world.getName() + " " + centerX + " " + centerZ + " " + radius;
+    }
+
+    private int loadProgress() {
+        if (progressFile == null || !Files.isRegularFile(progressFile)) return 0;
+        try {
+            String[] lines = Files.readString(progressFile).split("\n");
+            if (lines.length < 2 || !lines[0].trim().equals(header())) return 0;
+            return Math.min(chunks.length, Math.max(0, Integer.parseInt(lines[1].trim())));
+        } catch (IOException | NumberFormatException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not read the pregeneration progress of " + world.getName(), e);
+            return 0;
+        }
+    }
+
+    private String progressContent() {
+        return header() + "\n" + saved + "\n";
+    }
+
+    private void saveProgress() {
+        if (progressFile == null) return;
+        long sequence = ++saveSequence;
+        String content = progressContent();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> writeProgress(sequence, content));
+    }
+
+    private void deleteProgress() {
+        if (progressFile == null) return;
+        long sequence = ++saveSequence;
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> writeProgress(sequence, null));
+    }
+
+    /**
+     * Writes the progress file through a temporary file and an atomic move, or deletes it if the content is {@code null}.
+     * Writes older than the last one are skipped, so progress never goes backwards when async writes run out of order.
+     *
+     * @param sequence The sequence number of the write
+     * @param content  The content to write, or {@code null} to delete the file
+     */
+    private void writeProgress(long sequence, String content) {
+        synchronized (progressLock) {
+            if (sequence <= writtenSequence) return;
+            writtenSequence = sequence;
+            try {
+                if (content == null) {
+                    Files.deleteIfExists(progressFile);
+                    return;
+                }
+                Path parent = progressFile.toAbsolutePath().getParent();
+                if (parent != null) Files.createDirectories(parent);
+                Path temp = progressFile.resolveSibling(progressFile.getFileName() + ".tmp");
+                Files.writeString(temp, content);
+                Files.move(temp, progressFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Could not save the pregeneration progress of " + world.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * A progress report of a pregeneration task.
+     *
+     * @param done            The amount of generated chunks
+     * @param total           The total amount of chunks
+     * @param chunksPerSecond The generation rate since the previous report
+     * @param eta             The estimated remaining time, or {@code null} if nothing was generated since the previous report
+     * @param paused          Whether the task is paused because the server is overloaded
+     */
+    public record Progress(int done, int total, double chunksPerSecond, Duration eta, boolean paused) {
+        /**
+         * Gets the completed percentage.
+         *
+         * @return The percentage of generated chunks, from 0 to 100
+         */
+        public double percent() {
+            return total == 0 ? 100 : done * 100D / total;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package me.putindeer.api.util.world;
+
+import org.bukkit.World;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Low-level helpers for Anvil region files ({@code r.X.Z.mca}).
+ * <br><br>
+ * A region file holds 32x32 chunks. It starts with a 4 KiB table of chunk locations (3 bytes sector offset,
+ * 1 byte sector count) and a 4 KiB table of timestamps, followed by 4 KiB sectors with the chunk data.
+ * Chunks too big for the file are stored in external {@code c.X.Z.mcc} files, flagged in their compression byte.
+ */
+@SuppressWarnings("unused")
+public final class RegionFiles {
+    /**
+     * The folders holding region files in a dimension folder: block data, entities and points of interest.
+     */
+    public static final List<String> FOLDERS = List.of("region", "entities", "poi");
+
+    private static final int SECTOR = 4096;
+    private static final int HEADER = SECTOR * 2;
+    private static final int EXTERNAL_FLAG = 128;
+
+    private RegionFiles() {
+    }
+
+    /**
+     * Gets the dimension folder of a world, which contains its region folders.
+     *
+     * @param worldFolder The world folder
+     * @param environment The world environment
+     * @return The folder containing {@code region}, {@code entities} and {@code poi}
+     */
+    public static Path dimensionFolder(Path worldFolder, World.Environment environment) {
+        return switch (environment) {
+            case NETHER -> worldFolder.resolve("DIM-1");
+            case THE_END -> worldFolder.resolve("DIM1");
+            default -> worldFolder;
+        };
+    }
+
+    /**
+     * Copies the data of some chunks from the region files of a template folder into the region files of a target folder.
+     * <br><br>
+     * Template regions are read through memory-mapped buffers and only the given chunks are copied; every other chunk
+     * in the target is left untouched. A copied chunk reuses its old sectors in the target if it fits, and is appended
+     * at the end of the file otherwise. Chunks missing from the template are removed from the target, so they are
+     * generated again. The target world must not be loaded.
+     *
+     * @param templateFolder The region folder to read from
+     * @param targetFolder   The region folder to write to
+     * @param chunks         The chunk keys to copy, as in {@link org.bukkit.Chunk#getChunkKey(int, int)}
+     * @throws IOException if a region file can't be read or written
+     */
+    public static void copyChunks(Path templateFolder, Path targetFolder, Collection<Long> chunks) throws IOException {
+        Map<Long, List<Long>> regions = new HashMap<>();
+        for (long chunk : chunks) {
+            regions.computeIfAbsent(key(chunkX(chunk) >> 5, chunkZ(chunk) >> 5), region -> new ArrayList<>()).add(chunk);
+        }
+
+        for (Map.Entry<Long, List<Long>> entry : regions.entrySet()) {
+            int regionX = chunkX(entry.getKey());
+            int regionZ = chunkZ(entry.getKey());
+            String fileName = "r." + regionX + "." + regionZ + ".mca";
+            Path source = templateFolder.resolve(fileName);
+            Path target = targetFolder.resolve(fileName);
+            if (!Files.exists(source) && !Files.exists(target)) continue;
+
+            Files.createDirectories(targetFolder);
+            copyRegionChunks(source, target, templateFolder, targetFolder, entry.getValue());
+        }
+    }
+
+    private static void copyRegionChunks(Path source, Path target, Path templateFolder, Path targetFolder, List<Long> chunks) throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER);
+            if (out.size() >= HEADER) {
+                out.read(header, 0);
+            }
+            header.clear();
+
+            MappedByteBuffer template = null;
+            FileChannel in = Files.exists(source) ? FileChannel.open(source, StandardOpenOption.READ) : null;
+            try {
+                if (in != null && in.size() >= HEADER) template = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+
+                for (long chunk : chunks) {
+                    int chunkX = chunkX(chunk);
+                    int chunkZ = chunkZ(chunk);
+                    int index = ((chunkX & 31) + (chunkZ & 31) * 32) * 4;
+                    int location = template == null ? 0 : template.getInt(index);
+                    int offset = location >>> 8;
+                    int count = location & 0xFF;
+                    String external = "c." + chunkX + "." + chunkZ + ".mcc";
+
+                    if (location == 0 || (long) (offset + count) * SECTOR > template.capacity()) {
+                        header.putInt(index, 0);
+                        header.putInt(SECTOR + index, 0);
+                        Files.deleteIfExists(targetFolder.resolve(external));
+                        continue;
+                    }
+
+                    int previous = header.getInt(index);
+                    long sector = (previous & 0xFF) >= count && previous != 0
+                            ? previous >>> 8
+                            : Math.max(HEADER / SECTOR, (out.size() + SECTOR - 1) / SECTOR);
+
+                    ByteBuffer data = template.slice(offset * SECTOR, count * SECTOR);
+                    long position = sector * SECTOR;
+                    while (data.hasRemaining()) {
+                        position += out.write(data, position);
+                    }
+
+                    header.putInt(index, (int) (sector << 8) | count);
+                    header.putInt(SECTOR + index, template.getInt(SECTOR + index));
+
+                    boolean isExternal = (template.get(offset * SECTOR + 4) & EXTERNAL_FLAG) != 0;
+                    if (isExternal) {
+                        Files.copy(templateFolder.resolve(external), targetFolder.resolve(external), StandardCopyOption.REPLACE_EXISTING);
+                    } else {
+                        Files.deleteIfExists(targetFolder.resolve(external));
+                    }
+                }
+            } finally {
+                if (in != null) in.close();
+            }
+
+            header.clear();
+            while (header.hasRemaining()) {
+                out.write(header, header.position());
+            }
+        }
+    }
+
+    static long key(int x, int z) {
+        return ((long) x & 0xffffffffL) | (((long) z & 0xffffffffL) << 32);
+    }
+
+    static int chunkX(long key) {
+        return (int) key;
+    }
+
+    static int chunkZ(long key) {
+        return (int) (key >> 32);
+    }
+}
@@ -0,0 +1,208 @@
+package me.putindeer.api.util.world;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Stream;
+
+/**
+ * Filesystem helpers for world folders.
+ */
+@SuppressWarnings("unused")
+public final class WorldFiles {
+    /**
+     * Files that identify a running or specific world and must never be copied to a clone.
+     */
+    public static final Set<String> SKIPPED_FILES = Set.of("uid.dat", "session.lock");
+
+    private static final int DELETE_ATTEMPTS = 5;
+    private static final long DELETE_RETRY_MILLIS = 100;
+    private static final ForkJoinPool IO_POOL = new ForkJoinPool(Math.min(4, Runtime.getRuntime().availableProcessors()), pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("WorldFiles-io-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }, null, false);
+
+    private WorldFiles() {
+    }
+
+    /**
+     * Clones a template world folder.
+     * <br><br>
+     * Directories are created first, then every file is copied in parallel with {@link FileChannel#transferTo},
+     * which lets the OS copy in the kernel without going through user space, and share data blocks (reflink)
+     * on filesystems that support it, such as Btrfs or XFS. The copies run on the same small dedicated pool as
+     * {@link #delete(Path)}, not on the common {@link ForkJoinPool}. Hard links are never used, since the server
+     * writes region files in place and would modify the template.
+     * <br><br>
+     * {@code uid.dat} and {@code session.lock} are skipped, so the clone gets its own world UUID.
+     * <br><br>
+     * The files are copied into a {@code <target>.partial} folder, which is moved to the target only once everything
+     * was copied. If the copy fails, the partial folder is deleted, so a half-copied world is never loaded.
+     *
+     * @param template The template world folder
+     * @param target   The folder to create, which must not exist
+     * @throws IOException if the template can't be read or the clone can't be written
+     */
+    public static void copy(Path template, Path target) throws IOException {
+        if (Files.exists(target)) throw new FileAlreadyExistsException(target.toString());
+
+        Path partial = target.resolveSibling(target.getFileName() + ".partial");
+        delete(partial);
+        try {
+            copyFiles(template, partial);
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            try {
+                delete(partial);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private static void copyFiles(Path template, Path target) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(template)) {
+            files = stream.toList();
+        }
+
+        for (Path source : files) {
+            if (Files.isDirectory(source)) Files.createDirectories(target.resolve(template.relativize(source).toString()));
+        }
+
+        try {
+            IO_POOL.submit(() -> files.parallelStream()
+                    .filter(Files::isRegularFile)
+                    .filter(source -> !SKIPPED_FILES.contains(source.getFileName().toString()))
+                    .forEach(source -> {
+                        try {
+                            transfer(source, target.resolve(template.relativize(source).toString()));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })).join();
+        } catch (UncheckedIOException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Deletes a folder and everything inside it. Does nothing if it doesn't exist.
+     * <br><br>
+     * The tree is walked once with {@link Files#walkFileTree}. The files are then deleted in parallel on a small
+     * dedicated pool, so big folders never starve the common {@link ForkJoinPool}. The directories are deleted
+     * afterwards, deepest first. A file that can't be deleted, such as a region file the OS still has locked right
+     * after a world unload, is retried up to {@value #DELETE_ATTEMPTS} times with a growing delay.
+     *
+     * @param folder The folder to delete
+     * @throws IOException if something can't be deleted
+     */
+    public static void delete(Path folder) throws IOException {
+        if (!Files.exists(folder, LinkOption.NOFOLLOW_LINKS)) return;
+        List<Path> files = new ArrayList<>();
+        List<Path> folders = new ArrayList<>();
+        Files.walkFileTree(folder, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                files.add(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+                if (e instanceof NoSuchFileException) return FileVisitResult.CONTINUE;
+                throw e;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                if (e != null) throw e;
+                folders.add(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        try {
+            IO_POOL.submit(() -> files.parallelStream().forEach(file -> {
+                try {
+                    deleteWithRetries(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })).join();
+        } catch (UncheckedIOException e) {
+            throw unwrap(e);
+        }
+        for (Path dir : folders) {
+            deleteWithRetries(dir);
+        }
+    }
+
+    /**
+     * Deletes a folder and everything inside it off the calling thread, as in {@link #delete(Path)}.
+     * The deletion runs on the dedicated deletion pool, never on the common {@link ForkJoinPool}.
+     *
+     * @param folder The folder to delete
+     * @return A future completed once the folder is deleted, or completed exceptionally with the {@link IOException}
+     */
+    public static CompletableFuture<Void> deleteAsync(Path folder) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        IO_POOL.execute(() -> {
+            try {
+                delete(folder);
+                future.complete(null);
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private static IOException unwrap(UncheckedIOException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof UncheckedIOException nested) return unwrap(nested);
+        if (cause instanceof IOException io) return io;
+        return new IOException(e);
+    }
+
+    private static void deleteWithRetries(Path path) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Files.deleteIfExists(path);
+                return;
+            } catch (DirectoryNotEmptyException e) {
+                throw e;
+            } catch (FileSystemException e) {
+                if (attempt >= DELETE_ATTEMPTS) throw e;
+                try {
+                    Thread.sleep(DELETE_RETRY_MILLIS * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static void transfer(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
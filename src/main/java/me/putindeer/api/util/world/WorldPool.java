@@ -0,0 +1,294 @@
+package me.putindeer.api.util.world;
+
+import me.putindeer.api.util.builder.WorldBuilder;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A pool of pre-built worlds for minigames, handed out per match and reset in the background after it.
+ * <br><br>
+ * The pool keeps {@code size} worlds ready. Acquiring a world takes a ready one (or waits for one) and starts
+ * building a replacement. Releasing a world unloads it without saving, deletes its folder off the main thread
+ * and builds it again from the {@link WorldBuilder} factory, which usually clones a template with
+ * {@link WorldBuilder#fromTemplate(Path)}. Worlds are built with {@link WorldBuilder#buildAsync(Plugin)}.
+ * <p>
+ * Usage example:
+ * <pre>
+ * {@code
+ * WorldPool pool = new WorldPool(plugin, "arena", 4, name -> new WorldBuilder(name)
+ *     .fromTemplate(templateFolder)
+ *     .gamerule(GameRules.ADVANCE_TIME, false));
+ * pool.start();
+ *
+ * pool.acquire().thenAccept(world -> startMatch(world));
+ * // After the match, once every player has left the world:
+ * pool.release(world);
+ * }
+ * </pre>
+ * A world that fails to build is deleted and built again after a growing delay. After {@value #MAX_ATTEMPTS}
+ * failures in a row, every waiting acquire fails and the pool stops building until the next acquire.
+ * <br><br>
+ * Every method must be called from the main thread, and futures are completed on it.
+ */
+@SuppressWarnings("unused")
+public class WorldPool {
+    private static final long RETRY_DELAY = 20L;
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final Plugin plugin;
+    private final String prefix;
+    private final int size;
+    private final Function<String, WorldBuilder> factory;
+
+    private final Deque<World> ready = new ArrayDeque<>();
+    private final Set<World> inUse = new HashSet<>();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private final Deque<String> freeNames = new ArrayDeque<>();
+    private int pending;
+    private int counter;
+    private int failures;
+    private boolean started;
+    private boolean halted;
+    private boolean closed;
+
+    private long waits;
+    private long totalWaitNanos;
+    private long resets;
+    private long totalResetNanos;
+
+    /**
+     * Creates a new WorldPool instance. Call {@link #start()} to build the initial worlds.
+     *
+     * @param plugin  The plugin used to schedule the tasks
+     * @param prefix  The prefix of the world names, followed by {@code _<number>}
+     * @param size    The amount of worlds to keep ready
+     * @param factory Function creating the {@link WorldBuilder} of a world from its name
+     */
+    public WorldPool(Plugin plugin, String prefix, int size, Function<String, WorldBuilder> factory) {
+        this.plugin = plugin;
+        this.prefix = prefix;
+        this.size = size;
+        this.factory = factory;
+    }
+
+    /**
+     * Starts building worlds until the pool is full.
+     * <br><br>
+     * Worlds left over from a previous run (folders named {@code <prefix>_<number>}) are unloaded and deleted first,
+     * off the main thread, so a world that was in use or half built when the server stopped is never handed out.
+     * Acquires made before that finishes wait for the first worlds to be built.
+     */
+    public void start() {
+        List<Path> leftovers = new ArrayList<>();
+        File[] folders = Bukkit.getWorldContainer().listFiles(File::isDirectory);
+        for (File folder : folders == null ? new File[0] : folders) {
+            String name = folder.getName();
+            if (!name.startsWith(prefix + "_") || !name.substring(prefix.length() + 1).chars().allMatch(Character::isDigit)) continue;
+            World world = Bukkit.getWorld(name);
+            if (world != null && !Bukkit.unloadWorld(world, false)) {
+                plugin.getLogger().warning("Could not unload leftover pooled world " + name + ", it won't be reused.");
+                counter = Math.max(counter, Integer.parseInt(name.substring(prefix.length() + 1)) + 1);
+                continue;
+            }
+            leftovers.add(folder.toPath());
+        }
+
+        CompletableFuture.allOf(leftovers.stream().map(WorldFiles::deleteAsync).toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, throwable) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (throwable != null) {
+                        plugin.getLogger().warning("Could not delete leftover pooled worlds: " + throwable.getMessage());
+                    }
+                    started = true;
+                    refill();
+                }));
+    }
+
+    /**
+     * Takes a ready world from the pool, waiting for one to be built if none is ready.
+     *
+     * @return A future completed with the acquired world
+     */
+    public CompletableFuture<World> acquire() {
+        if (closed) return CompletableFuture.failedFuture(new IllegalStateException("World pool is closed."));
+
+        CompletableFuture<World> future = new CompletableFuture<>();
+        World world = ready.poll();
+        if (world != null) {
+            inUse.add(world);
+            waits++;
+            future.complete(world);
+        } else {
+            waiters.add(new Waiter(future, System.nanoTime()));
+        }
+        halted = false;
+        refill();
+        return future;
+    }
+
+    /**
+     * Returns a world to the pool. It is unloaded without saving, and rebuilt from scratch in the background.
+     *
+     * @param world The world acquired from this pool
+     * @throws IllegalArgumentException if the world doesn't belong to this pool
+     * @throws IllegalStateException    if there are still players in the world
+     */
+    public void release(World world) {
+        if (!inUse.contains(world)) throw new IllegalArgumentException("World " + world.getName() + " was not acquired from this pool.");
+        if (!world.getPlayers().isEmpty()) throw new IllegalStateException("World " + world.getName() + " still has players in it.");
+
+        inUse.remove(world);
+        String name = world.getName();
+        Path folder = world.getWorldFolder().toPath();
+        long start = System.nanoTime();
+
+        if (!Bukkit.unloadWorld(world, false)) {
+            plugin.getLogger().warning("Could not unload pooled world " + name + ", it has been removed from the pool.");
+            return;
+        }
+
+        pending++;
+        WorldFiles.deleteAsync(folder).whenComplete((ignored, throwable) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            pending--;
+            if (throwable != null) {
+                plugin.getLogger().warning("Could not delete pooled world " + name + ": " + throwable.getMessage());
+                refill();
+                return;
+            }
+            if (closed || (ready.size() + pending >= size && waiters.isEmpty())) {
+                freeNames.add(name);
+                return;
+            }
+            build(name, start);
+        }));
+    }
+
+    /**
+     * Stops refilling the pool and fails every waiting acquire. Ready worlds are unloaded without saving and their
+     * folders are deleted. Worlds in use stay loaded and can still be released, but they won't be rebuilt.
+     */
+    public void close() {
+        closed = true;
+        failWaiters(new IllegalStateException("World pool is closed."));
+        for (World world : ready) {
+            Path folder = world.getWorldFolder().toPath();
+            if (Bukkit.unloadWorld(world, false)) WorldFiles.deleteAsync(folder);
+        }
+        ready.clear();
+    }
+
+    /**
+     * Gets a snapshot of the pool metrics.
+     *
+     * @return The current {@link Metrics}
+     */
+    public Metrics getMetrics() {
+        return new Metrics(ready.size(), inUse.size(), pending, waiters.size(),
+                waits == 0 ? 0 : totalWaitNanos / 1_000_000.0 / waits,
+                resets == 0 ? 0 : totalResetNanos / 1_000_000.0 / resets,
+                resets);
+    }
+
+    private void refill() {
+        while (started && !halted && !closed && ready.size() + pending < size + waiters.size()) {
+            String name = freeNames.isEmpty() ? prefix + "_" + counter++ : freeNames.poll();
+            pending++;
+            build(name, -1);
+        }
+    }
+
+    private void build(String name, long resetStart) {
+        if (resetStart >= 0) pending++;
+        factory.apply(name).buildAsync(plugin).whenComplete((world, throwable) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (throwable != null) {
+                plugin.getLogger().warning("Could not build pooled world " + name + ": " + throwable.getMessage());
+                discard(name, throwable);
+                return;
+            }
+            pending--;
+            failures = 0;
+            if (resetStart >= 0) {
+                resets++;
+                totalResetNanos += System.nanoTime() - resetStart;
+            }
+            offer(world);
+        }));
+    }
+
+    /**
+     * Cleans up a world that failed to build, so a half-cloned folder is never loaded, and retries after a delay
+     * that doubles with every failure in a row. Once {@value #MAX_ATTEMPTS} builds failed in a row, the waiting
+     * acquires fail and the pool stops retrying until the next acquire.
+     *
+     * @param name  The name of the world
+     * @param cause The reason the build failed
+     */
+    private void discard(String name, Throwable cause) {
+        long delay = RETRY_DELAY << Math.min(failures, MAX_ATTEMPTS - 1);
+        if (++failures >= MAX_ATTEMPTS) {
+            plugin.getLogger().warning("Could not build a pooled world " + MAX_ATTEMPTS + " times in a row, failing the waiting acquires.");
+            failures = 0;
+            halted = true;
+            failWaiters(new IllegalStateException("Could not build pooled world " + name + " after " + MAX_ATTEMPTS + " attempts.", cause));
+        }
+
+        World loaded = Bukkit.getWorld(name);
+        if (loaded != null) Bukkit.unloadWorld(loaded, false);
+        WorldFiles.deleteAsync(Bukkit.getWorldContainer().toPath().resolve(name)).whenComplete((ignored, throwable) ->
+                Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                    pending--;
+                    if (throwable != null) {
+                        plugin.getLogger().warning("Could not delete pooled world " + name + ": " + throwable.getMessage());
+                    } else {
+                        freeNames.add(name);
+                    }
+                    refill();
+                }, delay));
+    }
+
+    private void failWaiters(Throwable cause) {
+        waiters.forEach(waiter -> waiter.future.completeExceptionally(cause));
+        waiters.clear();
+    }
+
+    private void offer(World world) {
+        if (closed) {
+            Path folder = world.getWorldFolder().toPath();
+            if (Bukkit.unloadWorld(world, false)) WorldFiles.deleteAsync(folder);
+            return;
+        }
+        Waiter waiter = waiters.poll();
+        if (waiter == null) {
+            ready.add(world);
+            return;
+        }
+        inUse.add(world);
+        waits++;
+        totalWaitNanos += System.nanoTime() - waiter.since;
+        waiter.future.complete(world);
+    }
+
+    private record Waiter(CompletableFuture<World> future, long since) {
+    }
+
+    /**
+     * A snapshot of the pool metrics.
+     *
+     * @param ready              The amount of worlds ready to be acquired
+     * @param inUse              The amount of acquired worlds
+     * @param pending            The amount of worlds being built or reset
+     * @param waiting            The amount of acquires waiting for a world
+     * @param averageWaitMillis  The average time an acquire waited for a world, in milliseconds
+     * @param averageResetMillis The average time from release to the world being ready again, in milliseconds
+     * @param resets             The total amount of completed resets
+     */
+    public record Metrics(int ready, int inUse, int pending, int waiting, double averageWaitMillis,
+                          double averageResetMillis, long resets) {
+    }
+}